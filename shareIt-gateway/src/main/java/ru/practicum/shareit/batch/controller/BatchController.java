@@ -0,0 +1,32 @@
+package ru.practicum.shareit.batch.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.constants.Constant;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/batch")
+@Slf4j
+public class BatchController {
+    private final BatchService batchService;
+
+    @PostMapping
+    public CompletableFuture<List<SubResponseDto>> executeBatch(@Valid @RequestBody BatchRequestDto batchRequestDto,
+                                                                @RequestHeader(Constant.HEADER_USER_ID) Long userId) {
+        log.info("Поступил POST-запрос на выполнение пакета из {} запросов от user c id = {}",
+                batchRequestDto.getRequests().size(), userId);
+        return batchService.execute(batchRequestDto.getRequests(), userId);
+    }
+}
@@ -0,0 +1,229 @@
+package ru.practicum.shareit.batch.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.ratelimit.UserRateLimiter;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.user.controller.UserController;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolationException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Выполняет пакет GET-запросов параллельно. Каждый подзапрос вызывает метод контроллера через его
+ * Spring-прокси, поэтому действуют те же проверки параметров, что и для отдельного запроса.
+ * Каждый подзапрос расходует разрешение чтения пользователя, как и отдельный GET.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchService {
+    private final UserController userController;
+    private final ItemController itemController;
+    private final BookingController bookingController;
+    private final ItemRequestController itemRequestController;
+    private final ObjectMapper mapper;
+    private final Optional<UserRateLimiter> rateLimiter;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CompletableFuture<List<SubResponseDto>> execute(List<SubRequestDto> requests, long userId) {
+        var responses = requests.stream()
+                .map(request -> execute(request.getPath(), userId))
+                .toList();
+        return CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> responses.stream().map(CompletableFuture::join).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private CompletableFuture<SubResponseDto> execute(String path, long userId) {
+        return CompletableFuture.supplyAsync(() -> route(path, userId), executor)
+                .thenCompose(Function.identity())
+                .handle((response, e) -> e == null ? toSubResponse(path, response) : toSubResponse(path, e));
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> route(String path, long userId) {
+        rateLimiter.ifPresent(limiter -> limiter.acquire(userId, UserRateLimiter.READ));
+        var uri = UriComponentsBuilder.fromUriString(path).build();
+        var segments = uri.getPathSegments();
+        var params = decode(uri.getQueryParams());
+        if (segments.isEmpty() || segments.size() > 2) {
+            throw new NotFoundException("Путь " + path + " не поддерживается в пакетном запросе.");
+        }
+        var resource = segments.get(0);
+        var sub = segments.size() == 2 ? segments.get(1) : null;
+
+        switch (resource) {
+            case "users":
+                return sub == null ? userController.getAllUsers() : userController.findUserById(id(sub), null);
+            case "items":
+                if (sub == null) {
+                    return itemController.getUserItems(userId, intParam(params, "from", 0), intParam(params, "size", 10));
+                }
+                if (sub.equals("search")) {
+                    return itemController.findItemToRent(userId, params.getFirst("text"),
+                            intParam(params, "from", 0), intParam(params, "size", 10), longParam(params, "after"),
+                            params.containsKey("sort") ? params.getFirst("sort") : "ID");
+                }
+                if (sub.equals("suggest")) {
+                    return itemController.suggestItems(userId, requiredParam(params, "prefix"), intParam(params, "size", 10));
+                }
+                return itemController.getItemInfo(userId, id(sub), null);
+            case "bookings":
+                var state = params.containsKey("state") ? params.getFirst("state") : "ALL";
+                if (sub == null) {
+                    return bookingController.getAllBookingsOfUser(userId, state,
+                            intParam(params, "from", 0), intParam(params, "size", 10));
+                }
+                if (sub.equals("owner")) {
+                    return bookingController.getBookingsOfAllUserItems(userId, state,
+                            intParam(params, "from", 0), intParam(params, "size", 10));
+                }
+                return bookingController.getBookingInfo(id(sub), userId);
+            case "requests":
+                if (sub == null) {
+                    return itemRequestController.getAllRequestsByUser(userId);
+                }
+                if (sub.equals("all")) {
+                    return itemRequestController.getAllRequests(userId,
+                            intParam(params, "from", 0), intParam(params, "size", 10));
+                }
+                return itemRequestController.getRequestById(userId, id(sub), null);
+            default:
+                throw new NotFoundException("Путь " + path + " не поддерживается в пакетном запросе.");
+        }
+    }
+
+    private static Long id(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Некорректный id: " + value);
+        }
+    }
+
+    /**
+     * Параметры подзапроса приходят закодированными, а клиенты сервера кодируют их сами, поэтому их нужно декодировать.
+     */
+    private static MultiValueMap<String, String> decode(MultiValueMap<String, String> params) {
+        var decoded = new LinkedMultiValueMap<String, String>();
+        try {
+            params.forEach((name, values) -> values.forEach(value -> decoded.add(UriUtils.decode(name, StandardCharsets.UTF_8),
+                    value == null ? null : UriUtils.decode(value, StandardCharsets.UTF_8))));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Некорректная кодировка параметров: " + e.getMessage());
+        }
+        return decoded;
+    }
+
+    private static String requiredParam(MultiValueMap<String, String> params, String name) {
+        var value = params.getFirst(name);
+        if (value == null) {
+            throw new BadRequestException("Отсутствует обязательный параметр " + name);
+        }
+        return value;
+    }
+
+    private static Integer intParam(MultiValueMap<String, String> params, String name, int defaultValue) {
+        var value = params.getFirst(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Некорректное значение параметра " + name + ": " + value);
+        }
+    }
+
+    private static Long longParam(MultiValueMap<String, String> params, String name) {
+        var value = params.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Некорректное значение параметра " + name + ": " + value);
+        }
+    }
+
+    private SubResponseDto toSubResponse(String path, ResponseEntity<Object> response) {
+        var body = response.getBody();
+        JsonNode json;
+        if (body == null) {
+            json = null;
+        } else if (body instanceof byte[] bytes) {
+            json = bytes.length == 0 ? null : readBody(bytes, response.getHeaders().getContentType());
+        } else {
+            json = mapper.valueToTree(body);
+        }
+        return new SubResponseDto(path, response.getStatusCodeValue(), json);
+    }
+
+    /**
+     * JSON-ответ сервера встраивается как есть, любой другой - строкой, чтобы ответ пакета оставался корректным JSON.
+     */
+    private JsonNode readBody(byte[] bytes, MediaType contentType) {
+        if (contentType == null || contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            try {
+                return mapper.readTree(bytes);
+            } catch (IOException e) {
+                log.debug("Тело подзапроса не является JSON и передаётся строкой: {}", e.getMessage());
+            }
+        }
+        return TextNode.valueOf(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private SubResponseDto toSubResponse(String path, Throwable e) {
+        var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        HttpStatus status;
+        String message = cause.getMessage();
+        if (cause instanceof BadRequestException || cause instanceof ConstraintViolationException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else if (cause instanceof NotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (cause instanceof TooManyRequestsException) {
+            status = HttpStatus.TOO_MANY_REQUESTS;
+        } else if (cause instanceof ServiceUnavailableException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            log.error("Ошибка при выполнении подзапроса {} пакета {}", path, cause.getMessage(), cause);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            message = "Произошла непредвиденная ошибка.";
+        }
+        return new SubResponseDto(path, status.value(), mapper.valueToTree(Map.of("error", String.valueOf(message))));
+    }
+}
@@ -1,44 +1,66 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
+import ru.practicum.shareit.item.controller.ItemClient;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
+@Slf4j
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final ObjectMapper mapper;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerExchangeFactory exchangeFactory, ObjectProvider<ResponseCache> responseCache,
+                         ObjectMapper mapper) {
+        super(exchangeFactory.create(API_PREFIX), responseCache.getIfAvailable());
+        this.mapper = mapper;
     }
 
-    public ResponseEntity<Object> createBooking(long userId, BookingRequestDto bookingRequestDto) {
-        return post("", userId, bookingRequestDto);
+    public CompletableFuture<ResponseEntity<Object>> createBooking(long userId, BookingRequestDto bookingRequestDto,
+                                                                   @Nullable String idempotencyKey) {
+        return postIdempotent("", userId, idempotencyKey, bookingRequestDto)
+                .whenComplete((response, e) -> evict(ItemClient.API_PREFIX + "/" + bookingRequestDto.getItemId()));
     }
 
-    public ResponseEntity<Object> getBookingById(long userId, Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> bookingStatusManagement(long userId, Long bookingId, Boolean approved) {
-        return patch("/" + bookingId + "?approved=" + approved, userId);
+    public CompletableFuture<ResponseEntity<Object>> bookingStatusManagement(long userId, Long bookingId, Boolean approved) {
+        return patch("/" + bookingId + "?approved=" + approved, userId)
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        // исход неизвестен, а id вещи есть только в ответе сервера
+                        evictAll(ItemClient.API_PREFIX + "/");
+                    } else if (response.getStatusCode().is2xxSuccessful()) {
+                        var itemId = bookedItemId(response);
+                        if (itemId != null) {
+                            evict(ItemClient.API_PREFIX + "/" + itemId);
+                        } else {
+                            evictAll(ItemClient.API_PREFIX + "/");
+                        }
+                    }
+                });
     }
 
 
-    public ResponseEntity<Object> getAllBookingsOfUser(long userId, String state, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingsOfUser(long userId, String state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -47,7 +69,7 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsOfAllUserItems(long userId, String state, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsOfAllUserItems(long userId, String state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -55,4 +77,16 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    private Long bookedItemId(ResponseEntity<Object> response) {
+        try {
+            var body = response.getBody();
+            JsonNode booking = body instanceof byte[] bytes ? mapper.readTree(bytes) : mapper.valueToTree(body);
+            var itemId = booking.path("item").path("id");
+            return itemId.canConvertToLong() ? itemId.asLong() : null;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Не удалось получить id вещи из ответа на изменение статуса бронирования", e);
+            return null;
+        }
+    }
 }
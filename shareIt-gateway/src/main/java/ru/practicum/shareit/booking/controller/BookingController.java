@@ -20,6 +20,7 @@ import ru.practicum.shareit.constants.Constant;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -32,43 +33,44 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@Valid @RequestBody BookingRequestDto bookingDto,
-                                                @RequestHeader(Constant.HEADER_USER_ID) Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> createBooking(@Valid @RequestBody BookingRequestDto bookingDto,
+                                                                   @RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                   @RequestHeader(value = Constant.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         log.info("Поступил POST-запрос на добавление бронирования от user с id = {}", userId);
 
-        return bookingClient.createBooking(userId, bookingDto);
+        return bookingClient.createBooking(userId, bookingDto, idempotencyKey);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> bookingStatusManagement(@PathVariable Long bookingId,
-                                                          @RequestHeader(Constant.HEADER_USER_ID) Long userId,
-                                                          @RequestParam Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> bookingStatusManagement(@PathVariable Long bookingId,
+                                                                             @RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                             @RequestParam Boolean approved) {
         log.info("Поступил PATCH-запрос на управление бронированием c id = {} от user c id = {}", bookingId, userId);
         return bookingClient.bookingStatusManagement(userId, bookingId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingInfo(@PathVariable Long bookingId,
-                                                 @RequestHeader(Constant.HEADER_USER_ID) Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingInfo(@PathVariable Long bookingId,
+                                                                    @RequestHeader(Constant.HEADER_USER_ID) Long userId) {
         log.info("Поступил GET-запрос на получение информации о бронировании booking с id = {} от user с id = {}", bookingId, userId);
         return bookingClient.getBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookingsOfUser(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
-                                                       @RequestParam(defaultValue = "ALL") String state,
-                                                       @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                       @RequestParam(defaultValue = "10") @Positive Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllBookingsOfUser(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                          @RequestParam(defaultValue = "ALL") String state,
+                                                                          @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                                          @RequestParam(defaultValue = "10") @Positive Integer size) {
         State.isStateValid(state);
         log.info("Поступил GET-запрос на получение списка всех бронирований всех вещей user с id = {}", userId);
         return bookingClient.getAllBookingsOfUser(userId, state, from, size);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOfAllUserItems(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
-                                                            @RequestParam(defaultValue = "ALL") String state,
-                                                            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                            @RequestParam(defaultValue = "10") @Positive Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsOfAllUserItems(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                               @RequestParam(defaultValue = "ALL") String state,
+                                                                               @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                                               @RequestParam(defaultValue = "10") @Positive Integer size) {
         State.isStateValid(state);
         log.info("Поступил GET-запрос на получение списка бронирований всех вещей user с id = {}", userId);
         return bookingClient.getBookingsOfAllUserItems(userId, state, from, size);
@@ -1,99 +1,165 @@
 package ru.practicum.shareit.client;
 
-import java.util.List;
-import java.util.Map;
-
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.constants.Constant;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final List<String> PASSTHROUGH_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+            Constant.HEADER_IDEMPOTENT_REPLAYED);
+
+    protected final ServerExchange exchange;
+    @Nullable
+    protected final ResponseCache cache;
+
+    public BaseClient(ServerExchange exchange) {
+        this(exchange, null);
+    }
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(ServerExchange exchange, @Nullable ResponseCache cache) {
+        this.exchange = exchange;
+        this.cache = cache;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    /**
+     * GET через кэш ответов. resource - полный путь ресурса на сервере, по нему же идёт инвалидация.
+     * Если ETag ответа совпадает с If-None-Match клиента, отдаётся 304 без тела.
+     */
+    protected CompletableFuture<ResponseEntity<Object>> getCached(String resource, String path, Long userId,
+                                                                  @Nullable String ifNoneMatch) {
+        return getCached(resource, path, userId)
+                .thenApply(response -> notModifiedIfMatches(response, ifNoneMatch));
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> getCached(String resource, String path, Long userId) {
+        if (cache == null) {
+            return get(path, userId, null);
+        }
+        var key = ResponseCache.key(resource, userId);
+        var cached = cache.get(key);
+        if (cached != null && cache.isFresh(cached)) {
+            cache.recordHit();
+            return CompletableFuture.completedFuture(cached.toResponse());
+        }
+
+        var headers = defaultHeaders(userId);
+        if (cached != null && cached.getEtag() != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+        long generation = cache.generation();
+        return exchange.exchange(HttpMethod.GET, path, headers, null, null)
+                .thenApply(response -> {
+                    if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+                        cache.recordRevalidation();
+                        cache.refresh(key, cached, generation);
+                        return cached.toResponse();
+                    }
+                    cache.recordMiss();
+                    var gatewayResponse = prepareGatewayResponse(response);
+                    if (gatewayResponse.getStatusCode() == HttpStatus.OK) {
+                        cache.put(key, gatewayResponse, generation);
+                    }
+                    return gatewayResponse;
+                });
+    }
+
+    protected void evict(String resource) {
+        if (cache != null) {
+            cache.evict(resource);
+        }
+    }
+
+    protected void evictAll(String prefix) {
+        if (cache != null) {
+            cache.evictAll(prefix);
+        }
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    /**
+     * POST с заголовком Idempotency-Key: повтор с тем же ключом сервер не выполняет повторно,
+     * а возвращает сохранённый ответ.
+     */
+    protected <T> CompletableFuture<ResponseEntity<Object>> postIdempotent(String path, Long userId,
+                                                                           @Nullable String idempotencyKey, T body) {
+        var headers = defaultHeaders(userId);
+        if (idempotencyKey != null) {
+            headers.set(Constant.HEADER_IDEMPOTENCY_KEY, idempotencyKey);
+        }
+        return exchange.exchange(HttpMethod.POST, path, headers, null, body)
+                .thenApply(BaseClient::prepareGatewayResponse);
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
-        return prepareGatewayResponse(shareitServerResponse);
+    private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return exchange.exchange(method, path, defaultHeaders(userId), parameters, body)
+                .thenApply(BaseClient::prepareGatewayResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -106,12 +172,30 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
+    private static ResponseEntity<Object> notModifiedIfMatches(ResponseEntity<Object> response,
+                                                               @Nullable String ifNoneMatch) {
+        var etag = response.getHeaders().getETag();
+        if (ifNoneMatch == null || etag == null || response.getStatusCode() != HttpStatus.OK) {
             return response;
         }
+        var tag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || (candidate.startsWith("W/") ? candidate.substring(2) : candidate).equals(tag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        return response;
+    }
 
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        for (String header : PASSTHROUGH_HEADERS) {
+            var values = response.getHeaders().get(header);
+            if (values != null) {
+                responseBuilder.header(header, values.toArray(String[]::new));
+            }
+        }
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
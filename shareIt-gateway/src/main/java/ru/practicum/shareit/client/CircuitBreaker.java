@@ -0,0 +1,185 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker одного клиента gateway.
+ * CLOSED: считает исходы вызовов в окне из windowSize вызовов и размыкается, когда доля отказов
+ * после minimumCalls вызовов достигает failureRateThreshold процентов.
+ * OPEN: отклоняет вызовы, пока не пройдёт openDuration.
+ * HALF_OPEN: пропускает halfOpenCalls пробных вызовов; все успешны - CLOSED, любой отказ - снова OPEN.
+ * Состояние - неизменяемый объект в AtomicReference, переходы выполняются через CAS.
+ * Каждый переход увеличивает поколение. Вызов получает поколение, в котором начался, и его исход
+ * не учитывается, если состояние успело смениться: вызов, начатый в CLOSED, не закроет цепь в HALF_OPEN.
+ */
+@Slf4j
+public class CircuitBreaker implements MeterBinder {
+    public enum Status { CLOSED, OPEN, HALF_OPEN }
+
+    public static final long REJECTED = -1;
+
+    private record State(Status status, int calls, int failures, long openedAt, int probes, long generation) {
+        static State closed(long generation) {
+            return new State(Status.CLOSED, 0, 0, 0, 0, generation);
+        }
+
+        static State open(long openedAt, long generation) {
+            return new State(Status.OPEN, 0, 0, openedAt, 0, generation);
+        }
+    }
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+    private final Clock clock;
+    private final AtomicReference<State> state = new AtomicReference<>(State.closed(0));
+    private volatile MeterRegistry registry;
+
+    public CircuitBreaker(String name, ShareItServerProperties.Breaker properties) {
+        this(name, properties, Clock.systemUTC());
+    }
+
+    CircuitBreaker(String name, ShareItServerProperties.Breaker properties, Clock clock) {
+        this.name = name;
+        this.windowSize = properties.getWindowSize();
+        this.minimumCalls = properties.getMinimumCalls();
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.openDurationMillis = properties.getOpenDuration().toMillis();
+        this.halfOpenCalls = properties.getHalfOpenCalls();
+        this.clock = clock;
+    }
+
+    public Status getStatus() {
+        return state.get().status();
+    }
+
+    /**
+     * Разрешает вызов. Возвращает поколение, которое вызывающий обязан передать в onSuccess или onFailure,
+     * либо REJECTED, если вызов запрещён.
+     */
+    public long tryAcquire() {
+        while (true) {
+            var current = state.get();
+            switch (current.status()) {
+                case CLOSED:
+                    return current.generation();
+                case OPEN:
+                    if (clock.millis() - current.openedAt() < openDurationMillis) {
+                        return REJECTED;
+                    }
+                    var halfOpen = new State(Status.HALF_OPEN, 0, 0, current.openedAt(), 1, current.generation() + 1);
+                    if (transition(current, halfOpen)) {
+                        return halfOpen.generation();
+                    }
+                    break;
+                default:
+                    if (current.probes() >= halfOpenCalls) {
+                        return REJECTED;
+                    }
+                    var next = new State(Status.HALF_OPEN, current.calls(), 0, current.openedAt(), current.probes() + 1,
+                            current.generation());
+                    if (state.compareAndSet(current, next)) {
+                        return current.generation();
+                    }
+            }
+        }
+    }
+
+    public void onSuccess(long generation) {
+        while (true) {
+            var current = state.get();
+            if (current.generation() != generation) {
+                return;
+            }
+            State next;
+            switch (current.status()) {
+                case CLOSED:
+                    next = current.calls() + 1 >= windowSize
+                            ? State.closed(generation)
+                            : new State(Status.CLOSED, current.calls() + 1, current.failures(), 0, 0, generation);
+                    break;
+                case HALF_OPEN:
+                    next = current.calls() + 1 >= halfOpenCalls
+                            ? State.closed(generation + 1)
+                            : new State(Status.HALF_OPEN, current.calls() + 1, 0, current.openedAt(),
+                                    current.probes(), generation);
+                    break;
+                default:
+                    return;
+            }
+            if (transition(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public void onFailure(long generation) {
+        while (true) {
+            var current = state.get();
+            if (current.generation() != generation) {
+                return;
+            }
+            State next;
+            switch (current.status()) {
+                case CLOSED:
+                    int calls = current.calls() + 1;
+                    int failures = current.failures() + 1;
+                    if (calls >= minimumCalls && failures * 100 >= failureRateThreshold * calls) {
+                        next = State.open(clock.millis(), generation + 1);
+                    } else if (calls >= windowSize) {
+                        next = State.closed(generation);
+                    } else {
+                        next = new State(Status.CLOSED, calls, failures, 0, 0, generation);
+                    }
+                    break;
+                case HALF_OPEN:
+                    next = State.open(clock.millis(), generation + 1);
+                    break;
+                default:
+                    return;
+            }
+            if (transition(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private boolean transition(State current, State next) {
+        if (!state.compareAndSet(current, next)) {
+            return false;
+        }
+        if (current.status() != next.status()) {
+            log.warn("Circuit breaker клиента {} перешёл из {} в {}", name, current.status(), next.status());
+            var meterRegistry = registry;
+            if (meterRegistry != null) {
+                Counter.builder("shareit.gateway.circuit.transitions")
+                        .tag("client", name)
+                        .tag("from", current.status().name())
+                        .tag("to", next.status().name())
+                        .description("Переходы circuit breaker между состояниями")
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("shareit.gateway.circuit.state", this, breaker -> breaker.getStatus().ordinal())
+                .tag("client", name)
+                .description("Состояние circuit breaker: 0 - CLOSED, 1 - OPEN, 2 - HALF_OPEN")
+                .register(registry);
+    }
+}
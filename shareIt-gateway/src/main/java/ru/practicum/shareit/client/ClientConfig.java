@@ -0,0 +1,125 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(ShareItServerProperties.class)
+public class ClientConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "blocking", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager serverConnectionManager(ShareItServerProperties properties) {
+        var pool = properties.getClient().getPool();
+        var connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(pool.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(pool.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) pool.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "blocking", matchIfMissing = true)
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                ShareItServerProperties properties) {
+        var pool = properties.getClient().getPool();
+        var requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) pool.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) pool.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) pool.getAcquireTimeout().toMillis())
+                .build();
+        long defaultKeepAlive = pool.getKeepAlive().toMillis();
+        var builder = HttpClients.custom();
+        if (!properties.getClient().isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder
+                .setConnectionManager(serverConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return keepAlive > 0 ? Math.min(keepAlive, defaultKeepAlive) : defaultKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(pool.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "blocking", matchIfMissing = true)
+    public ServerConnectionPoolMetrics serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new ServerConnectionPoolMetrics(serverConnectionManager);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "reactive")
+    public LoopResources serverClientLoopResources(ShareItServerProperties properties) {
+        return LoopResources.create("shareit-server-client", properties.getClient().getEventLoopThreads(), true);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "reactive")
+    public ConnectionProvider serverConnectionProvider(ShareItServerProperties properties) {
+        var pool = properties.getClient().getPool();
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(pool.getMaxPerRoute())
+                .pendingAcquireTimeout(pool.getAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getKeepAlive())
+                .evictInBackground(pool.getMaxIdleTime())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "reactive")
+    public ReactorClientHttpConnector serverClientHttpConnector(ConnectionProvider serverConnectionProvider,
+                                                                LoopResources serverClientLoopResources,
+                                                                ShareItServerProperties properties) {
+        var pool = properties.getClient().getPool();
+        var httpClient = HttpClient.create(serverConnectionProvider)
+                .runOn(serverClientLoopResources)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .responseTimeout(pool.getReadTimeout())
+                .compress(properties.getClient().isCompression());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.client.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public ResponseCache responseCache(ShareItServerProperties properties) {
+        var cache = properties.getClient().getCache();
+        return new ResponseCache(cache.getMaxEntries(), cache.getTtl());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.client.coalescing", havingValue = "true", matchIfMissing = true)
+    public RequestCoalescer requestCoalescer() {
+        return new RequestCoalescer();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.client.hedging.enabled", havingValue = "true")
+    public HedgingPolicy hedgingPolicy(ShareItServerProperties properties) {
+        return new HedgingPolicy(properties.getClient().getHedging());
+    }
+
+    @Bean
+    public ServerEndpoints serverEndpoints(ShareItServerProperties properties) {
+        return new ServerEndpoints(properties.endpointUrls(), properties.getBalancer());
+    }
+}
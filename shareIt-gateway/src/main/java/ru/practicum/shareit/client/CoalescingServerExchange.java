@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.constants.Constant;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Объединяет одновременные одинаковые GET-запросы клиента. Ключ учитывает путь, параметры
+ * и If-None-Match. Пользователь не входит в ключ только для подсказок: остальные запросы сервер
+ * проверяет на существование пользователя, и ответ неизвестному пользователю (404) нельзя отдавать другим.
+ */
+public class CoalescingServerExchange implements ServerExchange {
+    private static final List<Pattern> USER_INDEPENDENT_PATHS = List.of(
+            Pattern.compile("/items/suggest(\\?.*)?")
+    );
+
+    private final ServerExchange delegate;
+    private final String apiPrefix;
+    private final RequestCoalescer coalescer;
+
+    public CoalescingServerExchange(ServerExchange delegate, String apiPrefix, RequestCoalescer coalescer) {
+        this.delegate = delegate;
+        this.apiPrefix = apiPrefix;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, headers, parameters, body);
+        }
+        return coalescer.execute(key(path, headers, parameters),
+                () -> delegate.exchange(method, path, headers, parameters, body));
+    }
+
+    private String key(String path, HttpHeaders headers, @Nullable Map<String, Object> parameters) {
+        var resource = apiPrefix + path;
+        var key = new StringBuilder(resource);
+        if (parameters != null) {
+            key.append(new TreeMap<>(parameters));
+        }
+        var userId = isUserIndependent(resource) ? "*" : headers.getFirst(Constant.HEADER_USER_ID);
+        return key.append('#').append(userId)
+                .append('#').append(headers.getFirst(HttpHeaders.IF_NONE_MATCH))
+                .toString();
+    }
+
+    private static boolean isUserIndependent(String resource) {
+        return USER_INDEPENDENT_PATHS.stream().anyMatch(pattern -> pattern.matcher(resource).matches());
+    }
+}
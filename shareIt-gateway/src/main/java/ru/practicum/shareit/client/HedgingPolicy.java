@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Общие для всех клиентов ресурсы повторов и hedged-запросов: планировщик задержек,
+ * исполнитель попыток и глобальный бюджет. Каждый исходный GET пополняет бюджет на budgetRatio
+ * попытки, каждая дополнительная попытка его расходует - при деградации сервера число повторов
+ * ограничено долей обычного трафика.
+ */
+public class HedgingPolicy implements MeterBinder, DisposableBean {
+    private static final long SCALE = 1000;
+
+    private final ShareItServerProperties.Hedging properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "shareit-server-hedging");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService attempts = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong budget = new AtomicLong();
+    private final long maxBudget;
+    private final long refill;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public HedgingPolicy(ShareItServerProperties.Hedging properties) {
+        this.properties = properties;
+        this.refill = (long) (properties.getBudgetRatio() * SCALE);
+        this.maxBudget = properties.getMaxBudget() * SCALE;
+        this.budget.set(maxBudget);
+    }
+
+    public ShareItServerProperties.Hedging getProperties() {
+        return properties;
+    }
+
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    public ExecutorService getAttempts() {
+        return attempts;
+    }
+
+    void onRequest() {
+        budget.accumulateAndGet(refill, (current, add) -> Math.min(maxBudget, current + add));
+    }
+
+    boolean tryAcquireRetry() {
+        return tryAcquire(retries);
+    }
+
+    boolean tryAcquireHedge() {
+        return tryAcquire(hedges);
+    }
+
+    private boolean tryAcquire(LongAdder counter) {
+        while (true) {
+            long current = budget.get();
+            if (current < SCALE) {
+                exhausted.increment();
+                return false;
+            }
+            if (budget.compareAndSet(current, current - SCALE)) {
+                counter.increment();
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.gateway.hedging.attempts", retries, LongAdder::sum)
+                .tag("type", "retry")
+                .description("Повторные GET-запросы после ошибки соединения")
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.hedging.attempts", hedges, LongAdder::sum)
+                .tag("type", "hedge")
+                .description("Hedged GET-запросы, отправленные при медленном ответе")
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.hedging.budget.exhausted", exhausted, LongAdder::sum)
+                .description("Дополнительные попытки, отменённые из-за исчерпанного бюджета")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        attempts.shutdown();
+    }
+}
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.netty.http.client.PrematureCloseException;
+
+import java.net.ConnectException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Повторы и hedged-запросы для GET. Ошибка соединения повторяется с задержкой full jitter,
+ * а если ответ не пришёл за перцентиль недавних длительностей - параллельно отправляется ещё одна попытка,
+ * побеждает первый ответ, а остальные попытки отменяются. Число попыток ограничено maxAttempts на запрос
+ * и общим бюджетом HedgingPolicy.
+ * Остальные методы не идемпотентны и передаются дальше без изменений.
+ */
+public class HedgingServerExchange implements ServerExchange {
+    private final ServerExchange delegate;
+    private final HedgingPolicy policy;
+    private final ShareItServerProperties.Hedging properties;
+    private final LatencyTracker latency;
+
+    public HedgingServerExchange(ServerExchange delegate, HedgingPolicy policy) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.properties = policy.getProperties();
+        this.latency = new LatencyTracker(properties.getLatencySamples(), properties.getHedgePercentile(),
+                properties.getMinLatencySamples());
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, headers, parameters, body);
+        }
+        policy.onRequest();
+        return new Request(path, headers, parameters).start();
+    }
+
+    private class Request {
+        private final String path;
+        private final HttpHeaders headers;
+        private final Map<String, Object> parameters;
+        private final CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final Set<Attempt> inFlight = ConcurrentHashMap.newKeySet();
+
+        Request(String path, HttpHeaders headers, @Nullable Map<String, Object> parameters) {
+            this.path = path;
+            this.headers = headers;
+            this.parameters = parameters;
+        }
+
+        CompletableFuture<ResponseEntity<Object>> start() {
+            attempts.set(1);
+            outstanding.set(1);
+            result.whenComplete((response, e) -> inFlight.forEach(Attempt::cancel));
+            attempt(0);
+            scheduleHedge();
+            return result;
+        }
+
+        private void attempt(int retry) {
+            long startedAt = System.nanoTime();
+            var attempt = new Attempt();
+            inFlight.add(attempt);
+            attempt.task = policy.getAttempts().submit(() -> {
+                CompletableFuture<ResponseEntity<Object>> response;
+                try {
+                    response = delegate.exchange(HttpMethod.GET, path, headers, parameters, null);
+                } catch (Throwable e) {
+                    response = CompletableFuture.failedFuture(e);
+                }
+                attempt.response = response;
+                if (result.isDone()) {
+                    attempt.cancel();
+                }
+                response.whenComplete((r, e) -> {
+                    inFlight.remove(attempt);
+                    onComplete(retry, startedAt, r, e);
+                });
+            });
+        }
+
+        private void onComplete(int retry, long startedAt, ResponseEntity<Object> response, Throwable e) {
+            if (e == null) {
+                latency.record(System.nanoTime() - startedAt);
+                outstanding.decrementAndGet();
+                result.complete(response);
+            } else if (!result.isDone() && isConnectionFailure(e) && tryReserveAttempt(true)) {
+                long backoff = backoffMillis(retry);
+                policy.getScheduler().schedule(() -> attempt(retry + 1), backoff, TimeUnit.MILLISECONDS);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Пока выборка длительностей мала, перцентиль ничего не говорит о медленном ответе,
+         * и hedged-попытка не отправляется.
+         */
+        private void scheduleHedge() {
+            long percentileNanos = latency.percentileNanos();
+            if (percentileNanos < 0) {
+                return;
+            }
+            long delayNanos = Math.max(percentileNanos, properties.getMinHedgeDelay().toNanos());
+            policy.getScheduler().schedule(() -> {
+                if (!result.isDone() && tryReserveAttempt(false)) {
+                    outstanding.incrementAndGet();
+                    attempt(0);
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private boolean tryReserveAttempt(boolean retry) {
+            while (true) {
+                int current = attempts.get();
+                if (current >= properties.getMaxAttempts()) {
+                    return false;
+                }
+                if (attempts.compareAndSet(current, current + 1)) {
+                    if (retry ? policy.tryAcquireRetry() : policy.tryAcquireHedge()) {
+                        return true;
+                    }
+                    attempts.decrementAndGet();
+                    return false;
+                }
+            }
+        }
+
+        private long backoffMillis(int retry) {
+            long cap = Math.min(properties.getMaxBackoff().toMillis(), properties.getBackoff().toMillis() << Math.min(retry, 16));
+            return ThreadLocalRandom.current().nextLong(cap + 1);
+        }
+    }
+
+    /**
+     * Попытка, проигравшая гонку, отменяется: прерывание виртуального потока закрывает блокирующий сокет,
+     * а отмена future реактивного клиента отменяет подписку и освобождает соединение.
+     */
+    private static class Attempt {
+        private volatile Future<?> task;
+        private volatile CompletableFuture<ResponseEntity<Object>> response;
+
+        void cancel() {
+            var currentTask = task;
+            if (currentTask != null) {
+                currentTask.cancel(true);
+            }
+            var currentResponse = response;
+            if (currentResponse != null) {
+                currentResponse.cancel(true);
+            }
+        }
+    }
+
+    private static boolean isConnectionFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException
+                    || cause instanceof ConnectTimeoutException
+                    || cause instanceof NoHttpResponseException
+                    || cause instanceof PrematureCloseException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Скользящая выборка последних длительностей запросов клиента.
+ * Запись - одна атомарная операция; перцентиль пересчитывается не чаще раза в refreshEvery записей.
+ * Пока записей меньше minSamples, перцентиль не считается достоверным.
+ */
+public class LatencyTracker {
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final int refreshEvery;
+    private final long minSamples;
+    private volatile long cachedNanos = -1;
+
+    public LatencyTracker(int size, double percentile, int minSamples) {
+        this.samples = new AtomicLongArray(size);
+        this.percentile = percentile;
+        this.refreshEvery = Math.max(1, size / 16);
+        this.minSamples = Math.max(1, Math.min(minSamples, size));
+    }
+
+    public void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % samples.length()), nanos);
+        long count = index + 1;
+        if (count >= minSamples && (count == minSamples || index % refreshEvery == 0)) {
+            cachedNanos = compute((int) Math.min(count, samples.length()));
+        }
+    }
+
+    /**
+     * @return перцентиль длительности в наносекундах или -1, пока записей меньше minSamples
+     */
+    public long percentileNanos() {
+        return cachedNanos;
+    }
+
+    private long compute(int count) {
+        var snapshot = new long[count];
+        for (int i = 0; i < count; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+        int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        return snapshot[Math.max(0, Math.min(rank, count - 1))];
+    }
+}
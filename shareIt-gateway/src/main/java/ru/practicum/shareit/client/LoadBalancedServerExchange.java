@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Распределяет вызовы клиента по экземплярам shareIt-server. Транспорт на каждый экземпляр создаётся
+ * заранее; отказом экземпляра считаются ошибки транспорта и ответы 502-504.
+ * Если соединение с экземпляром не установлено, запрос до сервера не дошёл, поэтому он один раз
+ * отправляется на другой экземпляр при любом методе.
+ */
+public class LoadBalancedServerExchange implements ServerExchange {
+    private final ServerEndpoints endpoints;
+    private final List<ServerExchange> transports;
+
+    public LoadBalancedServerExchange(ServerEndpoints endpoints, List<ServerExchange> transports) {
+        this.endpoints = endpoints;
+        this.transports = transports;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        var endpoint = endpoints.choose();
+        return send(endpoint, method, path, headers, parameters, body)
+                .exceptionallyCompose(e -> {
+                    var other = isConnectFailure(e) ? endpoints.chooseOther(endpoint) : null;
+                    if (other == null) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                    return send(other, method, path, headers, parameters, body);
+                });
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> send(ServerEndpoints.Endpoint endpoint, HttpMethod method,
+                                                           String path, HttpHeaders headers,
+                                                           @Nullable Map<String, Object> parameters,
+                                                           @Nullable Object body) {
+        endpoint.start();
+        CompletableFuture<ResponseEntity<Object>> response;
+        try {
+            response = transports.get(endpoint.getIndex()).exchange(method, path, headers, parameters, body);
+        } catch (RuntimeException e) {
+            endpoints.onFailure(endpoint);
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete((serverResponse, e) -> {
+            if (e != null || isGatewayError(serverResponse)) {
+                endpoints.onFailure(endpoint);
+            } else {
+                endpoints.onSuccess(endpoint);
+            }
+        });
+    }
+
+    private static boolean isGatewayError(ResponseEntity<Object> response) {
+        int status = response.getStatusCodeValue();
+        return status >= 502 && status <= 504;
+    }
+
+    private static boolean isConnectFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
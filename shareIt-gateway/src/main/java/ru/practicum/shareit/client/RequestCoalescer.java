@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight для одинаковых GET-запросов к shareIt-server.
+ * Первый запрос с данным ключом уходит на сервер, остальные, пришедшие до его завершения,
+ * получают тот же future. Запись удаляется из карты сразу после завершения запроса.
+ */
+public class RequestCoalescer implements MeterBinder {
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    public CompletableFuture<ResponseEntity<Object>> execute(String key, Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        var future = new CompletableFuture<ResponseEntity<Object>>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            followers.increment();
+            return existing;
+        }
+
+        leaders.increment();
+        try {
+            call.get().whenComplete((response, e) -> {
+                inFlight.remove(key, future);
+                if (e != null) {
+                    future.completeExceptionally(e);
+                } else {
+                    future.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.gateway.coalescing.requests", leaders, LongAdder::sum)
+                .tag("role", "leader")
+                .description("GET-запросы, отправленные на сервер")
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.coalescing.requests", followers, LongAdder::sum)
+                .tag("role", "follower")
+                .description("GET-запросы, присоединившиеся к уже выполняющемуся запросу")
+                .register(registry);
+        Gauge.builder("shareit.gateway.coalescing.ratio", this, RequestCoalescer::ratio)
+                .description("Доля GET-запросов, обслуженных без отдельного обращения к серверу")
+                .register(registry);
+        Gauge.builder("shareit.gateway.coalescing.in-flight", this, RequestCoalescer::inFlight)
+                .description("Уникальные GET-запросы, ожидающие ответа сервера")
+                .register(registry);
+    }
+
+    private double ratio() {
+        long coalesced = followers.sum();
+        long total = coalesced + leaders.sum();
+        return total == 0 ? 0 : (double) coalesced / total;
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead и circuit breaker одного клиента gateway. Bulkhead ограничивает число одновременных
+ * вызовов сервера, чтобы медленный сервер не занял все потоки Tomcat; при разомкнутой цепи
+ * и при исчерпании bulkhead запрос сразу завершается ServiceUnavailableException.
+ * Отказом считаются ошибки транспорта и ответы 5xx.
+ */
+public class ResilientServerExchange implements ServerExchange, MeterBinder {
+    private final ServerExchange delegate;
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final long maxWaitMillis;
+    private final LongAdder rejected = new LongAdder();
+
+    public ResilientServerExchange(ServerExchange delegate, String name, CircuitBreaker circuitBreaker,
+                                   int maxConcurrentCalls, Duration maxWait) {
+        this.delegate = delegate;
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitMillis = maxWait.toMillis();
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        if (!acquireBulkhead()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new ServiceUnavailableException("Превышено число одновременных запросов к сервису " + name + "."));
+        }
+        long generation = circuitBreaker.tryAcquire();
+        if (generation == CircuitBreaker.REJECTED) {
+            bulkhead.release();
+            return CompletableFuture.failedFuture(
+                    new ServiceUnavailableException("Сервис " + name + " временно недоступен."));
+        }
+
+        CompletableFuture<ResponseEntity<Object>> response;
+        try {
+            response = delegate.exchange(method, path, headers, parameters, body);
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            circuitBreaker.onFailure(generation);
+            throw e;
+        }
+        return response.whenComplete((serverResponse, e) -> {
+            bulkhead.release();
+            if (e != null || serverResponse.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onFailure(generation);
+            } else {
+                circuitBreaker.onSuccess(generation);
+            }
+        });
+    }
+
+    private boolean acquireBulkhead() {
+        if (maxWaitMillis <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        circuitBreaker.bindTo(registry);
+        Gauge.builder("shareit.gateway.bulkhead.active", bulkhead, b -> maxConcurrentCalls - b.availablePermits())
+                .tag("client", name)
+                .description("Выполняющиеся вызовы сервера")
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.bulkhead.rejected", rejected, LongAdder::sum)
+                .tag("client", name)
+                .description("Вызовы, отклонённые из-за заполненного bulkhead")
+                .register(registry);
+    }
+}
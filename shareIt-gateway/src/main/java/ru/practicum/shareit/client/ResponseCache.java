@@ -0,0 +1,171 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш успешных GET-ответов shareIt-server на стороне gateway.
+ * Ключ - путь ресурса и id пользователя из заголовка: владелец вещи видит lastBooking/nextBooking,
+ * поэтому ответы разных пользователей никогда не смешиваются.
+ * Свежая запись отдаётся без обращения к серверу, устаревшая - перепроверяется через If-None-Match.
+ */
+public class ResponseCache implements MeterBinder {
+    private static final String USER_SEPARATOR = "#";
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+
+    public ResponseCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    ResponseCache(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    public static String key(String path, Long userId) {
+        return path + USER_SEPARATOR + userId;
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Номер поколения кэша. Запоминается до запроса к серверу: если за время запроса
+     * прошла инвалидация, ответ мог устареть и не сохраняется.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public synchronized void put(String key, ResponseEntity<Object> response, long requestGeneration) {
+        if (requestGeneration != generation.get() || maxEntries <= 0) {
+            return;
+        }
+        var etag = response.getHeaders().getETag();
+        entries.put(key, new Entry(response.getStatusCode(), response.getHeaders().getContentType() != null
+                ? response.getHeaders().getContentType().toString() : null, etag, response.getBody(), clock.millis()));
+    }
+
+    public synchronized void refresh(String key, Entry entry, long requestGeneration) {
+        if (requestGeneration == generation.get() && entries.get(key) == entry) {
+            entries.put(key, entry.refreshed(clock.millis()));
+        }
+    }
+
+    /**
+     * Удаляет записи ресурса для всех пользователей.
+     */
+    public synchronized void evict(String path) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(key -> key.startsWith(path + USER_SEPARATOR));
+    }
+
+    /**
+     * Удаляет записи всех ресурсов, путь которых начинается с prefix.
+     */
+    public synchronized void evictAll(String prefix) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public boolean isFresh(Entry entry) {
+        return clock.millis() - entry.storedAt < ttlMillis;
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordRevalidation() {
+        revalidations.incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.gateway.cache.size", this, ResponseCache::size)
+                .description("Записи в кэше ответов gateway")
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Ответы, отданные из кэша без обращения к серверу")
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.cache.requests", revalidations, AtomicLong::get)
+                .tag("result", "revalidated")
+                .description("Ответы, подтверждённые сервером через 304 Not Modified")
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Ответы, полученные от сервера целиком")
+                .register(registry);
+    }
+
+    public static final class Entry {
+        private final HttpStatus status;
+        private final String contentType;
+        private final String etag;
+        private final Object body;
+        private final long storedAt;
+
+        private Entry(HttpStatus status, String contentType, String etag, Object body, long storedAt) {
+            this.status = status;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.body = body;
+            this.storedAt = storedAt;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        private Entry refreshed(long now) {
+            return new Entry(status, contentType, etag, body, now);
+        }
+
+        public ResponseEntity<Object> toResponse() {
+            var headers = new HttpHeaders();
+            if (contentType != null) {
+                headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+            }
+            if (etag != null) {
+                headers.setETag(etag);
+            }
+            return new ResponseEntity<>(body, headers, status);
+        }
+    }
+}
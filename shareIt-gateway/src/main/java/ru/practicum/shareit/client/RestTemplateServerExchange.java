@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class RestTemplateServerExchange implements ServerExchange {
+    private final RestTemplate rest;
+    private final Class<?> bodyType;
+
+    public RestTemplateServerExchange(RestTemplate rest, Class<?> bodyType) {
+        this.rest = rest;
+        this.bodyType = bodyType;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<?> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, bodyType, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, bodyType);
+            }
+        } catch (HttpStatusCodeException e) {
+            shareitServerResponse = ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray());
+        }
+        return CompletableFuture.completedFuture(new ResponseEntity<>(shareitServerResponse.getBody(),
+                shareitServerResponse.getHeaders(), shareitServerResponse.getStatusCode()));
+    }
+}
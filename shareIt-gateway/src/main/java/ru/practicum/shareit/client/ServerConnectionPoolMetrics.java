@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+public class ServerConnectionPoolMetrics implements MeterBinder {
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    public ServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.gateway.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .description("Соединения с shareIt-server, выданные запросам")
+                .register(registry);
+        Gauge.builder("shareit.gateway.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .description("Запросы, ожидающие свободное соединение")
+                .register(registry);
+        Gauge.builder("shareit.gateway.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .description("Свободные соединения в пуле")
+                .register(registry);
+        Gauge.builder("shareit.gateway.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+                .description("Максимальный размер пула")
+                .register(registry);
+    }
+}
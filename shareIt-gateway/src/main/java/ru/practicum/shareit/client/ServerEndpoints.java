@@ -0,0 +1,163 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Экземпляры shareIt-server и их состояние, общее для всех клиентов gateway.
+ * Выбор - power of two choices: из двух случайных доступных экземпляров берётся тот,
+ * у которого меньше незавершённых запросов. После failureThreshold отказов подряд экземпляр
+ * исключается на ejectionCooldown; после возврата первый же отказ исключает его снова.
+ * Выбор и учёт исходов выполняются на атомарных счётчиках без блокировок.
+ */
+@Slf4j
+public class ServerEndpoints implements MeterBinder {
+    private final List<Endpoint> endpoints;
+    private final int failureThreshold;
+    private final long cooldownMillis;
+    private final Clock clock;
+
+    public ServerEndpoints(List<String> urls, ShareItServerProperties.Balancer properties) {
+        this(urls, properties, Clock.systemUTC());
+    }
+
+    ServerEndpoints(List<String> urls, ShareItServerProperties.Balancer properties, Clock clock) {
+        this.endpoints = IntStream.range(0, urls.size())
+                .mapToObj(i -> new Endpoint(i, urls.get(i)))
+                .toList();
+        this.failureThreshold = properties.getFailureThreshold();
+        this.cooldownMillis = properties.getEjectionCooldown().toMillis();
+        this.clock = clock;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public Endpoint choose() {
+        int size = endpoints.size();
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+        long now = clock.millis();
+        var random = ThreadLocalRandom.current();
+        var first = endpoints.get(random.nextInt(size));
+        var second = endpoints.get((first.index + 1 + random.nextInt(size - 1)) % size);
+        boolean firstAvailable = first.isAvailable(now);
+        boolean secondAvailable = second.isAvailable(now);
+        if (firstAvailable && secondAvailable) {
+            return first.outstanding.get() <= second.outstanding.get() ? first : second;
+        }
+        if (firstAvailable || secondAvailable) {
+            return firstAvailable ? first : second;
+        }
+        return chooseFallback(now);
+    }
+
+    /**
+     * Наименее загруженный доступный экземпляр, кроме excluded, или null, если такого нет.
+     */
+    public Endpoint chooseOther(Endpoint excluded) {
+        long now = clock.millis();
+        Endpoint best = null;
+        for (var endpoint : endpoints) {
+            if (endpoint != excluded && endpoint.isAvailable(now)
+                    && (best == null || endpoint.outstanding.get() < best.outstanding.get())) {
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+
+    private Endpoint chooseFallback(long now) {
+        var best = chooseOther(null);
+        if (best != null) {
+            return best;
+        }
+        for (var endpoint : endpoints) {
+            if (best == null || endpoint.ejectedUntil < best.ejectedUntil) {
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+
+    public void onSuccess(Endpoint endpoint) {
+        endpoint.outstanding.decrementAndGet();
+        if (endpoint.failures.get() != 0) {
+            endpoint.failures.set(0);
+        }
+    }
+
+    public void onFailure(Endpoint endpoint) {
+        endpoint.outstanding.decrementAndGet();
+        long now = clock.millis();
+        if (endpoint.failures.incrementAndGet() >= failureThreshold && endpoint.isAvailable(now)) {
+            endpoint.ejectedUntil = now + cooldownMillis;
+            endpoint.ejections.increment();
+            log.warn("Экземпляр shareIt-server {} исключён из балансировки на {} мс", endpoint.url, cooldownMillis);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (var endpoint : endpoints) {
+            Gauge.builder("shareit.gateway.endpoint.outstanding", endpoint.outstanding, AtomicInteger::get)
+                    .tag("endpoint", endpoint.url)
+                    .description("Незавершённые запросы к экземпляру shareIt-server")
+                    .register(registry);
+            Gauge.builder("shareit.gateway.endpoint.available", endpoint, e -> e.isAvailable(clock.millis()) ? 1 : 0)
+                    .tag("endpoint", endpoint.url)
+                    .description("Экземпляр участвует в балансировке")
+                    .register(registry);
+            FunctionCounter.builder("shareit.gateway.endpoint.ejections", endpoint.ejections, LongAdder::sum)
+                    .tag("endpoint", endpoint.url)
+                    .description("Исключения экземпляра после серии отказов")
+                    .register(registry);
+        }
+    }
+
+    public static final class Endpoint {
+        private final int index;
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final LongAdder ejections = new LongAdder();
+        private volatile long ejectedUntil;
+
+        private Endpoint(int index, String url) {
+            this.index = index;
+            this.url = url;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+
+        void start() {
+            outstanding.incrementAndGet();
+        }
+
+        private boolean isAvailable(long now) {
+            return ejectedUntil - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Транспорт запросов gateway к shareIt-server.
+ * Ответ сервера с любым статусом возвращается как есть: тело ошибки - массивом байт,
+ * тело успешного ответа - массивом байт в режиме passthrough или разобранным JSON.
+ */
+public interface ServerExchange {
+
+    CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                       @Nullable Map<String, Object> parameters, @Nullable Object body);
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+@Component
+@RequiredArgsConstructor
+public class ServerExchangeFactory {
+    private final ShareItServerProperties properties;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final ObjectProvider<WebClient.Builder> webClientBuilder;
+    private final ObjectProvider<ReactorClientHttpConnector> httpConnector;
+    private final ObjectProvider<CloseableHttpClient> httpClient;
+    private final ObjectProvider<RequestCoalescer> requestCoalescer;
+    private final ObjectProvider<HedgingPolicy> hedgingPolicy;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ServerEndpoints serverEndpoints;
+
+    public ServerExchange create(String apiPrefix) {
+        var exchange = guard(balance(apiPrefix), apiPrefix.substring(1));
+        var hedging = hedgingPolicy.getIfAvailable();
+        if (hedging != null) {
+            exchange = new HedgingServerExchange(exchange, hedging);
+        }
+        var coalescer = requestCoalescer.getIfAvailable();
+        return coalescer != null ? new CoalescingServerExchange(exchange, apiPrefix, coalescer) : exchange;
+    }
+
+    private ServerExchange guard(ServerExchange transport, String name) {
+        var client = properties.getClient();
+        var exchange = new ResilientServerExchange(transport, name, new CircuitBreaker(name, client.getCircuitBreaker()),
+                client.getBulkhead().getMaxConcurrentCalls(), client.getBulkhead().getMaxWait());
+        meterRegistry.ifAvailable(exchange::bindTo);
+        return exchange;
+    }
+
+    private ServerExchange balance(String apiPrefix) {
+        var endpoints = serverEndpoints.getEndpoints();
+        if (endpoints.size() == 1) {
+            return createTransport(endpoints.get(0).getUrl() + apiPrefix);
+        }
+        var transports = endpoints.stream()
+                .map(endpoint -> createTransport(endpoint.getUrl() + apiPrefix))
+                .toList();
+        return new LoadBalancedServerExchange(serverEndpoints, transports);
+    }
+
+    private ServerExchange createTransport(String baseUrl) {
+        Class<?> bodyType = properties.getClient().isPassthrough() ? byte[].class : Object.class;
+        if (properties.getClient().getMode() == ClientMode.REACTIVE) {
+            var webClient = webClientBuilder.getObject()
+                    .uriBuilderFactory(new DefaultUriBuilderFactory(baseUrl))
+                    .clientConnector(httpConnector.getObject())
+                    .build();
+            return new WebClientServerExchange(webClient, bodyType);
+        }
+        var rest = restTemplateBuilder.uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient.getObject()))
+                .build();
+        return new RestTemplateServerExchange(rest, bodyType);
+    }
+}
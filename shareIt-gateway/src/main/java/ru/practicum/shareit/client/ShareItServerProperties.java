@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server")
+public class ShareItServerProperties {
+    private String url;
+    private List<String> urls = new ArrayList<>();
+    private Balancer balancer = new Balancer();
+    private Client client = new Client();
+
+    /**
+     * Адреса экземпляров shareIt-server: список urls, а если он пуст - единственный url.
+     */
+    public List<String> endpointUrls() {
+        return urls.isEmpty() ? List.of(url) : urls;
+    }
+
+    @Getter
+    @Setter
+    public static class Client {
+        private ClientMode mode = ClientMode.BLOCKING;
+        private int eventLoopThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        private boolean passthrough = true;
+        private boolean compression = true;
+        private Pool pool = new Pool();
+        private Cache cache = new Cache();
+        private boolean coalescing = true;
+        private Breaker circuitBreaker = new Breaker();
+        private Bulkhead bulkhead = new Bulkhead();
+        private Hedging hedging = new Hedging();
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int maxTotal = 200;
+        private int maxPerRoute = 100;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(10);
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        private int maxEntries = 10_000;
+        private Duration ttl = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Breaker {
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private int failureRateThreshold = 50;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        private int maxConcurrentCalls = 50;
+        private Duration maxWait = Duration.ZERO;
+    }
+
+    @Getter
+    @Setter
+    public static class Hedging {
+        private boolean enabled = false;
+        private int maxAttempts = 3;
+        private Duration backoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofSeconds(1);
+        private double hedgePercentile = 95;
+        private Duration minHedgeDelay = Duration.ofMillis(20);
+        private int latencySamples = 1024;
+        private int minLatencySamples = 100;
+        private double budgetRatio = 0.1;
+        private int maxBudget = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Balancer {
+        private int failureThreshold = 3;
+        private Duration ejectionCooldown = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class WebClientServerExchange implements ServerExchange {
+    private final WebClient webClient;
+    private final Class<?> bodyType;
+
+    public WebClientServerExchange(WebClient webClient, Class<?> bodyType) {
+        this.webClient = webClient;
+        this.bodyType = bodyType;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        var requestBody = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        var request = body != null ? requestBody.bodyValue(body) : requestBody;
+        return request.exchangeToMono(this::toResponseEntity).toFuture();
+    }
+
+    private Mono<ResponseEntity<Object>> toResponseEntity(ClientResponse response) {
+        Class<?> responseType = response.statusCode().isError() ? byte[].class : bodyType;
+        return response.toEntity(responseType)
+                .map(entity -> new ResponseEntity<>(entity.getBody(), entity.getHeaders(), entity.getStatusCode()));
+    }
+}
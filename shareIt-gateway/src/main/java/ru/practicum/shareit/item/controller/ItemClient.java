@@ -1,44 +1,48 @@
 package ru.practicum.shareit.item.controller;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.controller.ItemRequestClient;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
-    private static final String API_PREFIX = "/items";
+    public static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerExchangeFactory exchangeFactory, ObjectProvider<ResponseCache> responseCache) {
+        super(exchangeFactory.create(API_PREFIX), responseCache.getIfAvailable());
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+    public CompletableFuture<ResponseEntity<Object>> createItem(long userId, ItemDto itemDto, @Nullable String idempotencyKey) {
+        return postIdempotent("", userId, idempotencyKey, itemDto)
+                .whenComplete((response, e) -> evictAll(ItemRequestClient.API_PREFIX + "/"));
     }
 
-    public ResponseEntity<Object> updateItem(long itemId, ItemDto itemDto, long userId) {
-        return patch("/" + itemId, userId, itemDto);
+    public CompletableFuture<ResponseEntity<Object>> updateItem(long itemId, ItemDto itemDto, long userId) {
+        return patch("/" + itemId, userId, itemDto)
+                .whenComplete((response, e) -> {
+                    evict(API_PREFIX + "/" + itemId);
+                    evictAll(ItemRequestClient.API_PREFIX + "/");
+                });
     }
 
-    public ResponseEntity<Object> getItemInfo(long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public CompletableFuture<ResponseEntity<Object>> getItemInfo(long userId, Long itemId, @Nullable String ifNoneMatch) {
+        return getCached(API_PREFIX + "/" + itemId, "/" + itemId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getUserItems(long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getUserItems(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -46,16 +50,33 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findItemToRent(long userId, String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> findItemToRent(long userId, String text, Integer from, Integer size,
+                                                                    @Nullable Long after, String sort) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
+                "size", size,
+                "sort", sort
+        ));
+        var path = "/search?text={text}&from={from}&size={size}&sort={sort}";
+        if (after != null) {
+            parameters.put("after", after);
+            path += "&after={after}";
+        }
+        return get(path, userId, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> suggestItems(long userId, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(CommentDto commentDto, long itemId, long userId) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public CompletableFuture<ResponseEntity<Object>> createComment(CommentDto commentDto, long itemId, long userId,
+                                                                   @Nullable String idempotencyKey) {
+        return postIdempotent("/" + itemId + "/comment", userId, idempotencyKey, commentDto)
+                .whenComplete((response, e) -> evict(API_PREFIX + "/" + itemId));
     }
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -14,12 +15,16 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.shareit.constants.Constant;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.enums.SearchSort;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
@@ -30,50 +35,66 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@Valid @RequestBody ItemDto itemDto,
-                                             @RequestHeader(Constant.HEADER_USER_ID) Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> createItem(@Valid @RequestBody ItemDto itemDto,
+                                                                @RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                @RequestHeader(value = Constant.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         log.info("Поступил POST-запрос на добавление item от user c id = {}", userId);
-        return itemClient.createItem(userId, itemDto);
+        return itemClient.createItem(userId, itemDto, idempotencyKey);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@PathVariable Long itemId,
-                                             @RequestBody ItemDto itemDto,
-                                             @RequestHeader(Constant.HEADER_USER_ID) Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@PathVariable Long itemId,
+                                                                @RequestBody ItemDto itemDto,
+                                                                @RequestHeader(Constant.HEADER_USER_ID) Long userId) {
         log.info("Поступил PATCH-запрос от user c id = {} на обновление item с id = {}", userId, itemId);
         return itemClient.updateItem(itemId, itemDto, userId);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemInfo(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
-                                              @PathVariable Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemInfo(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                 @PathVariable Long itemId,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Поступил GET-запрос на получение item с id = {} от user с id = {}", itemId, userId);
-        return itemClient.getItemInfo(userId, itemId);
+        return itemClient.getItemInfo(userId, itemId, ifNoneMatch);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserItems(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
-                                               @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                               @RequestParam(defaultValue = "10") @Positive Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getUserItems(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                  @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                                  @RequestParam(defaultValue = "10") @Positive Integer size) {
         log.info("Поступил GET-запрос на получение всех user items c userId = {}", userId);
         return itemClient.getUserItems(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findItemToRent(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
-                                                 @RequestParam(required = false) String text,
-                                                 @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                 @RequestParam(defaultValue = "10") @Positive Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> findItemToRent(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                    @RequestParam(required = false) String text,
+                                                                    @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                                    @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                                    @RequestParam(required = false) @PositiveOrZero Long after,
+                                                                    @RequestParam(defaultValue = "ID") String sort) {
         log.info("Поступил GET-запрос от user c id = {} на поиск item", userId);
-        return itemClient.findItemToRent(userId, text, from, size);
+        if (SearchSort.isSortValid(sort) != SearchSort.ID && after != null) {
+            throw new BadRequestException("Параметр after поддерживается только для sort = ID.");
+        }
+        return itemClient.findItemToRent(userId, text, from, size, after, sort);
+    }
+
+    @GetMapping("/suggest")
+    public CompletableFuture<ResponseEntity<Object>> suggestItems(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                  @RequestParam String prefix,
+                                                                  @RequestParam(defaultValue = "10") @Positive @Max(50) Integer size) {
+        log.debug("Поступил GET-запрос от user c id = {} на подсказки по названию item", userId);
+        return itemClient.suggestItems(userId, prefix, size);
     }
 
     @PostMapping("{itemId}/comment")
-    public ResponseEntity<Object> createComment(@Valid @RequestBody CommentDto commentDto,
-                                                @PathVariable Long itemId,
-                                                @RequestHeader(Constant.HEADER_USER_ID) Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(@Valid @RequestBody CommentDto commentDto,
+                                                                   @PathVariable Long itemId,
+                                                                   @RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                   @RequestHeader(value = Constant.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         log.info("Поступил POST-запрос на добавление комментария вещи item c id = {}, пользователем user c id = {}", itemId, userId);
-        return itemClient.createComment(commentDto, itemId, userId);
+        return itemClient.createComment(commentDto, itemId, userId, idempotencyKey);
     }
 }
 
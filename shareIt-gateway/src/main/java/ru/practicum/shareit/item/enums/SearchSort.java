@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.enums;
+
+import ru.practicum.shareit.exception.BadRequestException;
+
+public enum SearchSort {
+    ID,
+    RELEVANCE;
+
+    public static SearchSort isSortValid(String sort) {
+        try {
+            return SearchSort.valueOf(sort);
+        } catch (Exception e) {
+            throw new BadRequestException(String.format("Unknown sort: %s", sort));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.constants.Constant;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Ограничивает частоту запросов пользователя по заголовку X-Sharer-User-Id.
+ * GET и HEAD расходуют бюджет чтения, остальные методы - бюджет записи.
+ * Запросы без заголовка не ограничиваются: их отклонит контроллер.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final UserRateLimiter rateLimiter;
+
+    public RateLimitInterceptor(UserRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        var userId = parseUserId(request.getHeader(Constant.HEADER_USER_ID));
+        if (userId == null) {
+            return true;
+        }
+
+        var method = request.getMethod();
+        int kind = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                ? UserRateLimiter.READ : UserRateLimiter.WRITE;
+        rateLimiter.acquire(userId, kind);
+        return true;
+    }
+
+    private static Long parseUserId(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
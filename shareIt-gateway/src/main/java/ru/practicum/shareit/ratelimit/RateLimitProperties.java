@@ -0,0 +1,30 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxUsers = 100_000;
+    private Budget read = new Budget(50, 100);
+    private Budget write = new Budget(10, 20);
+
+    @Getter
+    @Setter
+    public static class Budget {
+        private double permitsPerSecond;
+        private int burst;
+
+        public Budget() {
+        }
+
+        public Budget(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+}
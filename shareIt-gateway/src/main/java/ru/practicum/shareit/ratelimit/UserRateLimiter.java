@@ -0,0 +1,113 @@
+package ru.practicum.shareit.ratelimit;
+
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket на пользователя с отдельными бюджетами на чтение и запись.
+ * Корзина хранится как одно число - момент времени (нс), к которому она снова станет полной
+ * (алгоритм GCRA), и обновляется через CAS без блокировок и аллокаций.
+ * Карта корзин ограничена maxUsers: при переполнении сначала удаляются полные корзины,
+ * они ничем не отличаются от новых.
+ */
+public class UserRateLimiter {
+    public static final int READ = 0;
+    public static final int WRITE = 1;
+
+    private final long[] intervalNanos = new long[2];
+    private final long[] toleranceNanos = new long[2];
+    private final int maxUsers;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<Long, AtomicLongArray> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public UserRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    UserRateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        configure(READ, properties.getRead());
+        configure(WRITE, properties.getWrite());
+        this.maxUsers = properties.getMaxUsers();
+        this.nanoClock = nanoClock;
+    }
+
+    private void configure(int kind, RateLimitProperties.Budget budget) {
+        intervalNanos[kind] = (long) (1_000_000_000L / budget.getPermitsPerSecond());
+        toleranceNanos[kind] = intervalNanos[kind] * (budget.getBurst() - 1);
+    }
+
+    /**
+     * Списывает одно разрешение или бросает TooManyRequestsException со временем до следующего разрешения.
+     */
+    public void acquire(long userId, int kind) {
+        long waitNanos = tryAcquire(userId, kind);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new TooManyRequestsException("Превышен лимит запросов для user c id = " + userId + ".", retryAfter);
+        }
+    }
+
+    /**
+     * Списывает одно разрешение.
+     *
+     * @return 0, если запрос разрешён, иначе время в наносекундах до появления разрешения
+     */
+    public long tryAcquire(long userId, int kind) {
+        var bucket = buckets.get(userId);
+        if (bucket == null) {
+            if (buckets.size() >= maxUsers) {
+                evict();
+            }
+            bucket = buckets.computeIfAbsent(userId, id -> new AtomicLongArray(2));
+        }
+
+        long interval = intervalNanos[kind];
+        long tolerance = toleranceNanos[kind];
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long fullAt = bucket.get(kind);
+            long start = fullAt == 0 || fullAt - now < 0 ? now : fullAt;
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(kind, fullAt, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = nanoClock.getAsLong();
+            buckets.values().removeIf(bucket -> isFull(bucket, READ, now) && isFull(bucket, WRITE, now));
+            Iterator<Long> users = buckets.keySet().iterator();
+            while (buckets.size() >= maxUsers && users.hasNext()) {
+                users.next();
+                users.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static boolean isFull(AtomicLongArray bucket, int kind, long now) {
+        long fullAt = bucket.get(kind);
+        return fullAt == 0 || fullAt - now <= 0;
+    }
+}
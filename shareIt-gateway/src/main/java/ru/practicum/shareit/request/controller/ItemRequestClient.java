@@ -1,39 +1,37 @@
 package ru.practicum.shareit.request.controller;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
-    private static final String API_PREFIX = "/requests";
+    public static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerExchangeFactory exchangeFactory, ObjectProvider<ResponseCache> responseCache) {
+        super(exchangeFactory.create(API_PREFIX), responseCache.getIfAvailable());
     }
 
-    public ResponseEntity<Object> createRequest(long userId, ItemRequestDto itemRequestDto) {
-        return post("", userId, itemRequestDto);
+    public CompletableFuture<ResponseEntity<Object>> createRequest(long userId, ItemRequestDto itemRequestDto,
+                                                                   @Nullable String idempotencyKey) {
+        return postIdempotent("", userId, idempotencyKey, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getAllRequestsByUser(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllRequestsByUser(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -41,7 +39,8 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestById(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public CompletableFuture<ResponseEntity<Object>> getRequestById(long userId, long requestId,
+                                                                    @Nullable String ifNoneMatch) {
+        return getCached(API_PREFIX + "/" + requestId, "/" + requestId, userId, ifNoneMatch);
     }
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -18,6 +19,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/requests")
@@ -29,30 +31,32 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
-                                                @RequestHeader(Constant.HEADER_USER_ID) Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> createRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
+                                                                   @RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                   @RequestHeader(value = Constant.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         log.info("Поступил POST-запрос на добавление запроса вещи от user c id = {}", userId);
-        return itemRequestClient.createRequest(userId, itemRequestDto);
+        return itemRequestClient.createRequest(userId, itemRequestDto, idempotencyKey);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllRequestsByUser(@RequestHeader(Constant.HEADER_USER_ID) Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllRequestsByUser(@RequestHeader(Constant.HEADER_USER_ID) Long userId) {
         log.info("Поступил GET-запрос на получение списка своих запросов от user c id = {}", userId);
         return itemRequestClient.getAllRequestsByUser(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
-                                                 @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                 @RequestParam(defaultValue = "10") @Positive Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllRequests(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                    @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                                    @RequestParam(defaultValue = "10") @Positive Integer size) {
         log.info("Поступил GET-запрос на получение списка запросов от user c id = {}", userId);
         return itemRequestClient.getAllRequests(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
-                                                 @PathVariable Long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestById(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                                    @PathVariable Long requestId,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Поступил GET-запрос на получение запроса с id = {}, от user c id = {}", requestId, userId);
-        return itemRequestClient.getRequestById(userId, requestId);
+        return itemRequestClient.getRequestById(userId, requestId, ifNoneMatch);
     }
 }
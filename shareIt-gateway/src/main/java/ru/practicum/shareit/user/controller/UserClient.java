@@ -1,45 +1,55 @@
 package ru.practicum.shareit.user.controller;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
+import ru.practicum.shareit.item.controller.ItemClient;
+import ru.practicum.shareit.request.controller.ItemRequestClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerExchangeFactory exchangeFactory, ObjectProvider<ResponseCache> responseCache) {
+        super(exchangeFactory.create(API_PREFIX), responseCache.getIfAvailable());
     }
 
-    public ResponseEntity<Object> addUser(UserDto userDto) {
-        return post("", userDto);
+    public CompletableFuture<ResponseEntity<Object>> addUser(UserDto userDto, @Nullable String idempotencyKey) {
+        return postIdempotent("", null, idempotencyKey, userDto);
     }
 
-    public ResponseEntity<Object> updateUser(long userId, UserDto userDto) {
-        return patch("/" + userId, userDto);
+    public CompletableFuture<ResponseEntity<Object>> updateUser(long userId, UserDto userDto) {
+        return patch("/" + userId, userDto)
+                .whenComplete((response, e) -> {
+                    evict(API_PREFIX + "/" + userId);
+                    evictAll(ItemClient.API_PREFIX + "/");
+                });
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> findUserById(long userId) {
-        return get("/" + userId);
+    public CompletableFuture<ResponseEntity<Object>> findUserById(long userId, @Nullable String ifNoneMatch) {
+        return getCached(API_PREFIX + "/" + userId, "/" + userId, null, ifNoneMatch);
     }
 
-    public void deleteUserById(long userId) {
-        delete("/" + userId);
+    public CompletableFuture<Void> deleteUserById(long userId) {
+        return delete("/" + userId)
+                .whenComplete((response, e) -> {
+                    evict(API_PREFIX + "/" + userId);
+                    evictAll(ItemClient.API_PREFIX + "/");
+                    evictAll(ItemRequestClient.API_PREFIX + "/");
+                })
+                .thenAccept(response -> { });
     }
 }
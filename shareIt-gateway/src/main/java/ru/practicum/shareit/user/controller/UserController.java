@@ -2,6 +2,7 @@ package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,11 +10,14 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.constants.Constant;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
@@ -24,32 +28,34 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> addUser(@Valid @RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> addUser(@Valid @RequestBody UserDto userDto,
+                                                             @RequestHeader(value = Constant.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         log.info("Поступил POST-запрос на добавление user");
-        return userClient.addUser(userDto);
+        return userClient.addUser(userDto, idempotencyKey);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@PathVariable Long id, @RequestBody UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(@PathVariable Long id, @RequestBody UserDto userDto) {
         log.info("Поступил PATCH-запрос на обновление user с id = {}", id);
         return userClient.updateUser(id, userDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getAllUsers() {
         log.info("Поступил GET-запрос на получение всех users");
         return userClient.getAllUsers();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> findUserById(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<Object>> findUserById(@PathVariable Long id,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Поступил GET-запрос на получение user c id = {}", id);
-        return userClient.findUserById(id);
+        return userClient.findUserById(id, ifNoneMatch);
     }
 
     @DeleteMapping("/{id}")
-    public void deleteUserById(@PathVariable Long id) {
+    public CompletableFuture<Void> deleteUserById(@PathVariable Long id) {
         log.info("Поступил DELETE-запрос на удаление user c id = {}", id);
-        userClient.deleteUserById(id);
+        return userClient.deleteUserById(id);
     }
 }
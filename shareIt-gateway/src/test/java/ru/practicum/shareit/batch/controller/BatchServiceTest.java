@@ -0,0 +1,158 @@
+package ru.practicum.shareit.batch.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.ratelimit.UserRateLimiter;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.user.controller.UserController;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchServiceTest {
+
+    @Mock
+    private UserController userController;
+
+    @Mock
+    private ItemController itemController;
+
+    @Mock
+    private BookingController bookingController;
+
+    @Mock
+    private ItemRequestController itemRequestController;
+
+    private BatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new BatchService(userController, itemController, bookingController, itemRequestController,
+                new ObjectMapper(), Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+    }
+
+    @Test
+    void execute_whenRequestsValid_thenBodiesEmbeddedInOrder() {
+        when(userController.findUserById(1L, null)).thenReturn(response(HttpStatus.OK, "{\"id\":1}"));
+        when(itemController.getUserItems(1L, 0, 5)).thenReturn(response(HttpStatus.OK, "[]"));
+        when(bookingController.getBookingsOfAllUserItems(1L, "ALL", 0, 10)).thenReturn(response(HttpStatus.OK, "[{\"id\":3}]"));
+
+        var responses = batchService.execute(List.of(
+                new SubRequestDto("/users/1"),
+                new SubRequestDto("/items?from=0&size=5"),
+                new SubRequestDto("/bookings/owner")), 1L).join();
+
+        assertEquals(3, responses.size());
+        assertEquals("/users/1", responses.get(0).getPath());
+        assertEquals("{\"id\":1}", responses.get(0).getBody().toString());
+        assertEquals("[]", responses.get(1).getBody().toString());
+        assertEquals(200, responses.get(2).getStatus());
+        assertEquals("[{\"id\":3}]", responses.get(2).getBody().toString());
+    }
+
+    @Test
+    void execute_whenServerReturnsError_thenStatusAndBodyPassedThrough() {
+        when(itemController.getItemInfo(1L, 99L, null)).thenReturn(response(HttpStatus.NOT_FOUND, "{\"error\":\"Вещь отсутствует.\"}"));
+
+        var responses = batchService.execute(List.of(new SubRequestDto("/items/99")), 1L).join();
+
+        assertEquals(404, responses.get(0).getStatus());
+        assertEquals("{\"error\":\"Вещь отсутствует.\"}", responses.get(0).getBody().toString());
+    }
+
+    @Test
+    void execute_whenSubRequestInvalid_thenOnlyItFails() {
+        when(userController.getAllUsers()).thenReturn(response(HttpStatus.OK, "[]"));
+        when(bookingController.getAllBookingsOfUser(1L, "UNKNOWN", 0, 10))
+                .thenThrow(new BadRequestException("Unknown state: UNKNOWN"));
+
+        var responses = batchService.execute(List.of(
+                new SubRequestDto("/bookings?state=UNKNOWN"),
+                new SubRequestDto("/payments"),
+                new SubRequestDto("/users")), 1L).join();
+
+        assertEquals(400, responses.get(0).getStatus());
+        assertEquals("{\"error\":\"Unknown state: UNKNOWN\"}", responses.get(0).getBody().toString());
+        assertEquals(404, responses.get(1).getStatus());
+        assertEquals(200, responses.get(2).getStatus());
+    }
+
+    @Test
+    void execute_whenQueryEncoded_thenControllerGetsDecodedValue() {
+        when(itemController.findItemToRent(1L, "power drill", 0, 10, null, "ID")).thenReturn(response(HttpStatus.OK, "[]"));
+        when(itemController.suggestItems(1L, "дре", 5)).thenReturn(response(HttpStatus.OK, "[]"));
+
+        var responses = batchService.execute(List.of(
+                new SubRequestDto("/items/search?text=power%20drill"),
+                new SubRequestDto("/items/suggest?prefix=%D0%B4%D1%80%D0%B5&size=5"),
+                new SubRequestDto("/items/suggest")), 1L).join();
+
+        assertEquals(200, responses.get(0).getStatus());
+        assertEquals(200, responses.get(1).getStatus());
+        assertEquals(400, responses.get(2).getStatus());
+    }
+
+    @Test
+    void execute_whenBodyIsNotJson_thenEmbeddedAsString() throws Exception {
+        when(userController.findUserById(1L, null)).thenReturn(CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("upstream \"failed\"".getBytes(StandardCharsets.UTF_8))));
+
+        var responses = batchService.execute(List.of(new SubRequestDto("/users/1")), 1L).join();
+
+        assertEquals("upstream \"failed\"", responses.get(0).getBody().asText());
+        var json = new ObjectMapper().writeValueAsString(responses);
+        assertEquals("upstream \"failed\"", new ObjectMapper().readTree(json).get(0).get("body").asText());
+    }
+
+    @Test
+    void execute_whenReadBudgetExhausted_thenSubRequestRejected() {
+        var properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(0.001, 2));
+        var limitedService = new BatchService(userController, itemController, bookingController, itemRequestController,
+                new ObjectMapper(), Optional.of(new UserRateLimiter(properties)));
+        when(userController.getAllUsers()).thenReturn(response(HttpStatus.OK, "[]"));
+
+        try {
+            var responses = limitedService.execute(List.of(
+                    new SubRequestDto("/users"),
+                    new SubRequestDto("/users"),
+                    new SubRequestDto("/users")), 1L).join();
+
+            assertEquals(1, responses.stream().filter(response -> response.getStatus() == 429).count());
+            verify(userController, times(2)).getAllUsers();
+        } finally {
+            limitedService.shutdown();
+        }
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> response(HttpStatus status, String body) {
+        return CompletableFuture.completedFuture(ResponseEntity.status(status).body(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.RestTemplateServerExchange;
+import ru.practicum.shareit.client.ServerExchangeFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BookingClientTest {
+
+    private static final String SERVER_URL = "http://localhost:9090/bookings";
+
+    private MockRestServiceServer server;
+
+    private ResponseCache cache;
+
+    private BookingClient client;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        var rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        server = MockRestServiceServer.bindTo(rest).build();
+        cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var factory = mock(ServerExchangeFactory.class);
+        when(factory.create("/bookings")).thenReturn(new RestTemplateServerExchange(rest, byte[].class));
+        ObjectProvider<ResponseCache> cacheProvider = mock(ObjectProvider.class);
+        when(cacheProvider.getIfAvailable()).thenReturn(cache);
+        client = new BookingClient(factory, cacheProvider, new ObjectMapper());
+        cache.put(ResponseCache.key("/items/1", 1L), ResponseEntity.ok("{\"id\":1}"), cache.generation());
+        cache.put(ResponseCache.key("/items/2", 1L), ResponseEntity.ok("{\"id\":2}"), cache.generation());
+    }
+
+    @Test
+    void createBooking_thenOnlyBookedItemEvicted() {
+        server.expect(requestTo(SERVER_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        var booking = new BookingRequestDto();
+        booking.setItemId(1L);
+
+        client.createBooking(2L, booking, null).join();
+
+        assertNull(cache.get(ResponseCache.key("/items/1", 1L)));
+        assertNotNull(cache.get(ResponseCache.key("/items/2", 1L)));
+    }
+
+    @Test
+    void bookingStatusManagement_thenItemFromResponseEvicted() {
+        server.expect(requestTo(SERVER_URL + "/5?approved=true"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":5,\"item\":{\"id\":2,\"name\":\"Дрель\"}}", MediaType.APPLICATION_JSON));
+
+        client.bookingStatusManagement(1L, 5L, true).join();
+
+        assertNotNull(cache.get(ResponseCache.key("/items/1", 1L)));
+        assertNull(cache.get(ResponseCache.key("/items/2", 1L)));
+    }
+
+    @Test
+    void bookingStatusManagement_whenRejectedByServer_thenNothingEvicted() {
+        server.expect(requestTo(SERVER_URL + "/5?approved=true"))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"Нет доступа.\"}"));
+
+        client.bookingStatusManagement(1L, 5L, true).join();
+
+        assertNotNull(cache.get(ResponseCache.key("/items/1", 1L)));
+        assertNotNull(cache.get(ResponseCache.key("/items/2", 1L)));
+    }
+}
@@ -46,7 +46,7 @@ public class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0]" +
-                        " in public org.springframework.http.ResponseEntity<java.lang.Object> ru.practicum.shareit.booking.controller")));
+                        " in public java.util.concurrent.CompletableFuture<org.springframework.http.ResponseEntity<java.lang.Object>> ru.practicum.shareit.booking.controller")));
     }
 
     @Test
@@ -62,7 +62,7 @@ public class BookingControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public org.springframework.http.ResponseEntity<java.lang.Object> ru.practicum.shareit.booking.controller")));
+                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public java.util.concurrent.CompletableFuture<org.springframework.http.ResponseEntity<java.lang.Object>> ru.practicum.shareit.booking.controller")));
 
     }
 
@@ -80,6 +80,6 @@ public class BookingControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public org.springframework.http.ResponseEntity<java.lang.Object> ru.practicum.shareit.booking.controller")));
+                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public java.util.concurrent.CompletableFuture<org.springframework.http.ResponseEntity<java.lang.Object>> ru.practicum.shareit.booking.controller")));
     }
 }
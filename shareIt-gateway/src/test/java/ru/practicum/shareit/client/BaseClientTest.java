@@ -0,0 +1,202 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.constants.Constant;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+
+    private static final String SERVER_URL = "http://localhost:9090/items";
+
+    private MockRestServiceServer server;
+
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        var rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(new RestTemplateServerExchange(rest, byte[].class));
+    }
+
+    @Test
+    void get_whenServerRespondsOk_thenBodyBytesPassedThrough() {
+        var body = "[{\"id\":1,\"name\":\"Дрель\"}]".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(Constant.HEADER_USER_ID, "1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        var response = client.get("/1", 1L).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(body, (byte[]) response.getBody());
+        server.verify();
+    }
+
+    @Test
+    void get_whenServerRespondsNotFound_thenStatusAndErrorBodyPassedThrough() {
+        var body = "{\"error\":\"Вещь отсутствует.\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(body));
+
+        var response = client.get("/99", 1L).join();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    void get_whenServerSendsHopByHopHeaders_thenTheyAreNotCopied() {
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo(SERVER_URL))
+                .andRespond(withSuccess().headers(headers));
+
+        var response = client.get("").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().get(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void getCached_whenEntryIsFresh_thenServerNotCalled() {
+        var body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        var cachedClient = new TestClient(client.exchange, new ResponseCache(10, Duration.ofMinutes(1)));
+        server.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+
+        cachedClient.getCached("/items/1", "/1", 1L, null).join();
+        var response = cachedClient.getCached("/items/1", "/1", 1L, null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertArrayEquals(body, (byte[]) response.getBody());
+        server.verify();
+    }
+
+    @Test
+    void getCached_whenEntryIsStale_thenRevalidatedWithIfNoneMatch() {
+        var body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        var cachedClient = new TestClient(client.exchange, new ResponseCache(10, Duration.ZERO));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"v1\"")));
+
+        cachedClient.getCached("/items/1", "/1", 1L, null).join();
+        var response = cachedClient.getCached("/items/1", "/1", 1L, null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+        server.verify();
+    }
+
+    @Test
+    void getCached_whenDifferentUsers_thenResponsesNotShared() {
+        var cachedClient = new TestClient(client.exchange, new ResponseCache(10, Duration.ofMinutes(1)));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header(Constant.HEADER_USER_ID, "1"))
+                .andRespond(withSuccess("{\"lastBooking\":{}}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header(Constant.HEADER_USER_ID, "2"))
+                .andRespond(withSuccess("{\"lastBooking\":null}", MediaType.APPLICATION_JSON));
+
+        cachedClient.getCached("/items/1", "/1", 1L, null).join();
+        var response = cachedClient.getCached("/items/1", "/1", 2L, null).join();
+
+        assertArrayEquals("{\"lastBooking\":null}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        server.verify();
+    }
+
+    @Test
+    void getCached_whenResourceEvicted_thenServerCalledAgain() {
+        var cachedClient = new TestClient(client.exchange, new ResponseCache(10, Duration.ofMinutes(1)));
+        server.expect(ExpectedCount.twice(), requestTo(SERVER_URL + "/1"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        cachedClient.getCached("/items/1", "/1", 1L, null).join();
+        cachedClient.evict("/items/1");
+        cachedClient.getCached("/items/1", "/1", 1L, null).join();
+
+        server.verify();
+    }
+
+    @Test
+    void getCached_whenIfNoneMatchEqualsCachedEtag_thenNotModifiedWithoutBody() {
+        var cachedClient = new TestClient(client.exchange, new ResponseCache(10, Duration.ofMinutes(1)));
+        server.expect(ExpectedCount.once(), requestTo(SERVER_URL + "/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+
+        cachedClient.getCached("/items/1", "/1", 1L, null).join();
+        var response = cachedClient.getCached("/items/1", "/1", 1L, "\"v0\", W/\"v1\"").join();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        server.verify();
+    }
+
+    @Test
+    void getCached_whenIfNoneMatchEqualsFreshEtagWithoutCache_thenNotModified() {
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+
+        var response = client.getCached("/items/1", "/1", 1L, "\"v1\"").join();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void getCached_whenIfNoneMatchDiffers_thenFullResponse() {
+        var body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(etag("\"v2\"")));
+
+        var response = client.getCached("/items/1", "/1", 1L, "\"v1\"").join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    private static HttpHeaders etag(String value) {
+        var headers = new HttpHeaders();
+        headers.setETag(value);
+        return headers;
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(ServerExchange exchange) {
+            super(exchange);
+        }
+
+        TestClient(ServerExchange exchange, ResponseCache cache) {
+            super(exchange, cache);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new ShareItServerProperties.Breaker();
+        properties.setWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenCalls(2);
+        circuitBreaker = new CircuitBreaker("items", properties, clock);
+    }
+
+    @Test
+    void onFailure_whenFailureRateReachesThreshold_thenOpens() {
+        call(true);
+        call(true);
+        call(false);
+        assertEquals(CircuitBreaker.Status.CLOSED, circuitBreaker.getStatus());
+
+        call(false);
+
+        assertEquals(CircuitBreaker.Status.OPEN, circuitBreaker.getStatus());
+        assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_whenOpenDurationPassed_thenHalfOpenWithLimitedProbes() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        assertNotEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+        assertNotEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.Status.HALF_OPEN, circuitBreaker.getStatus());
+    }
+
+    @Test
+    void onSuccess_whenAllProbesSucceed_thenCloses() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        call(true);
+        assertEquals(CircuitBreaker.Status.HALF_OPEN, circuitBreaker.getStatus());
+        call(true);
+
+        assertEquals(CircuitBreaker.Status.CLOSED, circuitBreaker.getStatus());
+    }
+
+    @Test
+    void onFailure_whenProbeFails_thenOpensAgain() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        call(false);
+
+        assertEquals(CircuitBreaker.Status.OPEN, circuitBreaker.getStatus());
+        assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void onSuccess_whenCallStartedBeforeHalfOpen_thenIgnored() {
+        long closedCall = circuitBreaker.tryAcquire();
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        call(true);
+        circuitBreaker.onSuccess(closedCall);
+
+        assertEquals(CircuitBreaker.Status.HALF_OPEN, circuitBreaker.getStatus());
+    }
+
+    @Test
+    void onFailure_whenCallStartedBeforeHalfOpen_thenProbesNotAffected() {
+        long closedCall = circuitBreaker.tryAcquire();
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        long probe = circuitBreaker.tryAcquire();
+        circuitBreaker.onFailure(closedCall);
+        assertEquals(CircuitBreaker.Status.HALF_OPEN, circuitBreaker.getStatus());
+        circuitBreaker.onSuccess(probe);
+        call(true);
+
+        assertEquals(CircuitBreaker.Status.CLOSED, circuitBreaker.getStatus());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+        assertEquals(CircuitBreaker.Status.OPEN, circuitBreaker.getStatus());
+    }
+
+    private void call(boolean success) {
+        long generation = circuitBreaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.REJECTED, generation);
+        if (success) {
+            circuitBreaker.onSuccess(generation);
+        } else {
+            circuitBreaker.onFailure(generation);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
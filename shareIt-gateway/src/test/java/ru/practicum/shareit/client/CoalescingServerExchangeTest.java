@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.constants.Constant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CoalescingServerExchangeTest {
+
+    private final List<CompletableFuture<ResponseEntity<Object>>> calls = new ArrayList<>();
+
+    private final ServerExchange server = (method, path, headers, parameters, body) -> {
+        var response = new CompletableFuture<ResponseEntity<Object>>();
+        calls.add(response);
+        return response;
+    };
+
+    @Test
+    void exchange_whenSuggestFromDifferentUsers_thenServerCalledOnce() {
+        var exchange = new CoalescingServerExchange(server, "/items", new RequestCoalescer());
+        var parameters = Map.<String, Object>of("prefix", "дре", "size", 5);
+
+        exchange.exchange(HttpMethod.GET, "/suggest?prefix={prefix}&size={size}", user(1), parameters, null);
+        exchange.exchange(HttpMethod.GET, "/suggest?prefix={prefix}&size={size}", user(2), parameters, null);
+
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void exchange_whenSearchFromUnknownAndKnownUser_thenEachGetsOwnResponse() {
+        var exchange = new CoalescingServerExchange(server, "/items", new RequestCoalescer());
+        var parameters = Map.<String, Object>of("text", "дрель");
+
+        var unknown = exchange.exchange(HttpMethod.GET, "/search?text={text}", user(99), parameters, null);
+        var known = exchange.exchange(HttpMethod.GET, "/search?text={text}", user(1), parameters, null);
+        calls.get(0).complete(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        calls.get(1).complete(ResponseEntity.ok("[]"));
+
+        assertEquals(2, calls.size());
+        assertEquals(HttpStatus.NOT_FOUND, unknown.join().getStatusCode());
+        assertEquals(HttpStatus.OK, known.join().getStatusCode());
+    }
+
+    @Test
+    void exchange_whenRequestByIdFromDifferentUsers_thenEachCallsServer() {
+        var exchange = new CoalescingServerExchange(server, "/requests", new RequestCoalescer());
+
+        exchange.exchange(HttpMethod.GET, "/1", user(1), null, null);
+        exchange.exchange(HttpMethod.GET, "/1", user(2), null, null);
+
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void exchange_whenSameSearchFromSameUser_thenServerCalledOnce() {
+        var exchange = new CoalescingServerExchange(server, "/items", new RequestCoalescer());
+        var parameters = Map.<String, Object>of("text", "дрель");
+
+        exchange.exchange(HttpMethod.GET, "/search?text={text}", user(1), parameters, null);
+        exchange.exchange(HttpMethod.GET, "/search?text={text}", user(1), parameters, null);
+
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    void exchange_whenItemByIdFromDifferentUsers_thenEachCallsServer() {
+        var exchange = new CoalescingServerExchange(server, "/items", new RequestCoalescer());
+
+        exchange.exchange(HttpMethod.GET, "/1", user(1), null, null);
+        exchange.exchange(HttpMethod.GET, "/1", user(2), null, null);
+
+        assertEquals(2, calls.size());
+    }
+
+    private static HttpHeaders user(long userId) {
+        var headers = new HttpHeaders();
+        headers.set(Constant.HEADER_USER_ID, String.valueOf(userId));
+        return headers;
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgingServerExchangeTest {
+
+    private HedgingPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new ShareItServerProperties.Hedging();
+        properties.setEnabled(true);
+        properties.setBackoff(Duration.ofMillis(1));
+        properties.setMinHedgeDelay(Duration.ofMillis(50));
+        properties.setMinLatencySamples(1);
+        policy = new HedgingPolicy(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        policy.destroy();
+    }
+
+    @Test
+    void exchange_whenConnectionFails_thenRetried() {
+        var delegate = new StubExchange(attempt -> attempt == 1
+                ? CompletableFuture.failedFuture(new ResourceAccessException("I/O error", new ConnectException("refused")))
+                : CompletableFuture.completedFuture(ResponseEntity.ok("item")));
+        var exchange = new HedgingServerExchange(delegate, policy);
+
+        var response = exchange.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).join();
+
+        assertEquals("item", response.getBody());
+        assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    void exchange_whenFirstAttemptSlow_thenHedgedAttemptWinsAndSlowAttemptCancelled() {
+        var slow = new CompletableFuture<ResponseEntity<Object>>();
+        var delegate = new StubExchange(attempt -> attempt == 2
+                ? slow
+                : CompletableFuture.completedFuture(ResponseEntity.ok("attempt " + attempt)));
+        var exchange = new HedgingServerExchange(delegate, policy);
+        exchange.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).join();
+
+        var response = exchange.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).join();
+
+        assertEquals("attempt 3", response.getBody());
+        assertEquals(3, delegate.calls.get());
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    void exchange_whenNoLatencySamples_thenNotHedged() {
+        var slow = new CompletableFuture<ResponseEntity<Object>>();
+        var delegate = new StubExchange(attempt -> slow);
+        var exchange = new HedgingServerExchange(delegate, policy);
+
+        var future = exchange.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null);
+
+        assertThrows(TimeoutException.class, () -> future.get(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, delegate.calls.get());
+        slow.complete(ResponseEntity.ok("item"));
+        assertEquals("item", future.join().getBody());
+    }
+
+    @Test
+    void exchange_whenAllAttemptsFail_thenLastFailurePropagated() {
+        var delegate = new StubExchange(attempt ->
+                CompletableFuture.failedFuture(new ResourceAccessException("I/O error", new ConnectException("refused"))));
+        var exchange = new HedgingServerExchange(delegate, policy);
+
+        var future = exchange.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null);
+
+        var e = assertThrows(CompletionException.class, future::join);
+        assertEquals(ResourceAccessException.class, e.getCause().getClass());
+        assertEquals(3, delegate.calls.get());
+    }
+
+    @Test
+    void exchange_whenFailureIsNotConnectionError_thenNotRetried() {
+        var delegate = new StubExchange(attempt -> CompletableFuture.failedFuture(
+                new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR)));
+        var exchange = new HedgingServerExchange(delegate, policy);
+
+        var future = exchange.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null);
+
+        assertThrows(CompletionException.class, future::join);
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    void exchange_whenPost_thenSingleAttempt() {
+        var delegate = new StubExchange(attempt ->
+                CompletableFuture.failedFuture(new ResourceAccessException("I/O error", new ConnectException("refused"))));
+        var exchange = new HedgingServerExchange(delegate, policy);
+
+        var future = exchange.exchange(HttpMethod.POST, "", new HttpHeaders(), null, "{}");
+
+        assertThrows(CompletionException.class, future::join);
+        assertEquals(1, delegate.calls.get());
+    }
+
+    private static class StubExchange implements ServerExchange {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final IntFunction<CompletableFuture<ResponseEntity<Object>>> responses;
+
+        StubExchange(IntFunction<CompletableFuture<ResponseEntity<Object>>> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                                  Map<String, Object> parameters, Object body) {
+            return responses.apply(calls.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyTrackerTest {
+
+    @Test
+    void percentileNanos_whenFewerThanMinSamples_thenUnknown() {
+        var tracker = new LatencyTracker(16, 50, 3);
+
+        tracker.record(10);
+        tracker.record(20);
+        assertEquals(-1, tracker.percentileNanos());
+
+        tracker.record(30);
+        assertEquals(20, tracker.percentileNanos());
+    }
+
+    @Test
+    void percentileNanos_whenWindowWrapped_thenOnlyRecentSamplesCounted() {
+        var tracker = new LatencyTracker(16, 100, 1);
+
+        for (int i = 0; i < 16; i++) {
+            tracker.record(1000);
+        }
+        for (int i = 0; i < 17; i++) {
+            tracker.record(10);
+        }
+
+        assertEquals(10, tracker.percentileNanos());
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    @Test
+    void execute_whenSameKeyInFlight_thenServerCalledOnce() {
+        var calls = new AtomicInteger();
+        var serverResponse = new CompletableFuture<ResponseEntity<Object>>();
+
+        var first = coalescer.execute("/items/1#1", () -> {
+            calls.incrementAndGet();
+            return serverResponse;
+        });
+        var second = coalescer.execute("/items/1#1", () -> {
+            calls.incrementAndGet();
+            return serverResponse;
+        });
+        serverResponse.complete(ResponseEntity.ok("item"));
+
+        assertEquals(1, calls.get());
+        assertSame(first.join(), second.join());
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    void execute_whenDifferentKeys_thenEachCallsServer() {
+        var calls = new AtomicInteger();
+
+        coalescer.execute("/items/1#1", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        coalescer.execute("/items/1#2", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_whenPreviousCallCompleted_thenServerCalledAgain() {
+        var calls = new AtomicInteger();
+
+        coalescer.execute("/items/1#1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(ResponseEntity.ok("item"));
+        }).join();
+        coalescer.execute("/items/1#1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(ResponseEntity.ok("item"));
+        }).join();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_whenCallThrows_thenFailurePropagatedAndKeyReleased() {
+        var response = coalescer.execute("/items/1#1", () -> {
+            throw new IllegalStateException("Сервер недоступен");
+        });
+
+        var e = assertThrows(CompletionException.class, response::join);
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+        assertEquals(0, coalescer.inFlight());
+    }
+}
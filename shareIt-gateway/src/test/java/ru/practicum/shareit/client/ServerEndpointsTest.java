@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ServerEndpointsTest {
+
+    private ServerEndpoints serverEndpoints;
+
+    private ServerEndpoints.Endpoint first;
+
+    private ServerEndpoints.Endpoint second;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new ShareItServerProperties.Balancer();
+        properties.setFailureThreshold(2);
+        properties.setEjectionCooldown(Duration.ofSeconds(10));
+        serverEndpoints = new ServerEndpoints(List.of("http://server-1:9090", "http://server-2:9090"), properties,
+                Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC));
+        first = serverEndpoints.getEndpoints().get(0);
+        second = serverEndpoints.getEndpoints().get(1);
+    }
+
+    @Test
+    void choose_whenOneEndpointBusier_thenLessLoadedChosen() {
+        first.start();
+        first.start();
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(second, serverEndpoints.choose());
+        }
+    }
+
+    @Test
+    void onFailure_whenThresholdReached_thenEndpointEjected() {
+        first.start();
+        serverEndpoints.onFailure(first);
+        first.start();
+        serverEndpoints.onFailure(first);
+        second.start();
+        second.start();
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(second, serverEndpoints.choose());
+        }
+    }
+
+    @Test
+    void onSuccess_whenFailuresBelowThreshold_thenCounterReset() {
+        first.start();
+        serverEndpoints.onFailure(first);
+        first.start();
+        serverEndpoints.onSuccess(first);
+        first.start();
+        serverEndpoints.onFailure(first);
+
+        assertEquals(0, first.getOutstanding());
+        second.start();
+        assertSame(first, serverEndpoints.choose());
+    }
+}
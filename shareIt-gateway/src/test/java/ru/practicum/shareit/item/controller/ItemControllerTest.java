@@ -46,7 +46,7 @@ class ItemControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public org.springframework.http.ResponseEntity<java.lang.Object> ")));
+                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public java.util.concurrent.CompletableFuture<org.springframework.http.ResponseEntity<java.lang.Object>> ")));
     }
 
     @Test
@@ -76,7 +76,7 @@ class ItemControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public org.springframework.http.ResponseEntity<java.lang.Object> ")));
+                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public java.util.concurrent.CompletableFuture<org.springframework.http.ResponseEntity<java.lang.Object>> ")));
     }
 
     @Test
@@ -91,7 +91,7 @@ class ItemControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public org.springframework.http.ResponseEntity<java.lang.Object> ")));
+                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public java.util.concurrent.CompletableFuture<org.springframework.http.ResponseEntity<java.lang.Object>> ")));
     }
 
     @Test
@@ -106,6 +106,6 @@ class ItemControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public org.springframework.http.ResponseEntity<java.lang.Object> ")));
+                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public java.util.concurrent.CompletableFuture<org.springframework.http.ResponseEntity<java.lang.Object>> ")));
     }
 }
\ No newline at end of file
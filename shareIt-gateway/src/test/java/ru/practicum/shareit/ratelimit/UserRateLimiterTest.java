@@ -0,0 +1,67 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    private UserRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(10, 3));
+        properties.setWrite(new RateLimitProperties.Budget(1, 1));
+        properties.setMaxUsers(2);
+        rateLimiter = new UserRateLimiter(properties, now::get);
+    }
+
+    @Test
+    void tryAcquire_whenBurstExhausted_thenWaitUntilNextPermit() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(1L, UserRateLimiter.READ));
+        }
+
+        long wait = rateLimiter.tryAcquire(1L, UserRateLimiter.READ);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+        now.addAndGet(wait);
+        assertEquals(0, rateLimiter.tryAcquire(1L, UserRateLimiter.READ));
+    }
+
+    @Test
+    void tryAcquire_whenReadBudgetExhausted_thenWriteBudgetUnaffected() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(1L, UserRateLimiter.READ);
+        }
+
+        assertEquals(0, rateLimiter.tryAcquire(1L, UserRateLimiter.WRITE));
+        assertTrue(rateLimiter.tryAcquire(1L, UserRateLimiter.WRITE) > 0);
+    }
+
+    @Test
+    void tryAcquire_whenOtherUserExhausted_thenOwnBudgetUnaffected() {
+        rateLimiter.tryAcquire(1L, UserRateLimiter.WRITE);
+
+        assertEquals(0, rateLimiter.tryAcquire(2L, UserRateLimiter.WRITE));
+    }
+
+    @Test
+    void tryAcquire_whenMaxUsersExceeded_thenFullBucketsEvicted() {
+        rateLimiter.tryAcquire(1L, UserRateLimiter.WRITE);
+        rateLimiter.tryAcquire(2L, UserRateLimiter.WRITE);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        rateLimiter.tryAcquire(3L, UserRateLimiter.WRITE);
+
+        assertEquals(1, rateLimiter.size());
+    }
+}
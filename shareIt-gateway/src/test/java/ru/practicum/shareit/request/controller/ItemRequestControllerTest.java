@@ -48,7 +48,7 @@ class ItemRequestControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public org.springframework.http.ResponseEntity<java.lang.Object>")));
+                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public java.util.concurrent.CompletableFuture<org.springframework.http.ResponseEntity<java.lang.Object>>")));
 
     }
 
@@ -80,6 +80,6 @@ class ItemRequestControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public org.springframework.http.ResponseEntity<java.lang.Object>")));
+                .andExpect(jsonPath("$.error").value(containsString("Validation failed for argument [0] in public java.util.concurrent.CompletableFuture<org.springframework.http.ResponseEntity<java.lang.Object>>")));
     }
 }
\ No newline at end of file
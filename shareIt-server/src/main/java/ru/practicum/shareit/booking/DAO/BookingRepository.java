@@ -3,14 +3,29 @@ package ru.practicum.shareit.booking.DAO;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingAccess;
+import ru.practicum.shareit.booking.dto.ItemBookingCount;
+import ru.practicum.shareit.booking.dto.ItemBookings;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    /**
+     * booker_id и owner_id читаются из внешних ключей одним запросом по первичному ключу бронирования
+     * с соединением по первичному ключу вещи. Прокси бронирования, вещи и пользователей не создаются.
+     */
+    @Query("select b.booker.id as bookerId, i.owner.id as ownerId, i.id as itemId, b.status as status "
+            + "from Booking b join b.item i where b.id = :bookingId")
+    Optional<BookingAccess> findAccessById(Long bookingId);
+
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.id = :bookingId")
+    Optional<Booking> findWithBookerAndItemById(Long bookingId);
+
     List<Booking> findAllBookingsByBookerIdOrderByStartDesc(Long id, Pageable pageable);
 
     List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long id, LocalDateTime start, LocalDateTime end, Pageable pageable);
@@ -31,11 +46,24 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findAllBookingsByItemOwnerIdAndStatusOrderByStartDesc(Long id, Status status, Pageable pageable);
 
-    @Query("select b from Booking b where b.item.id = :itemId and ( b.end < :time or b.start < :time) and b.status <> :status order by b.end DESC")
-    List<Booking> findLastBookingByItemId(Long itemId, LocalDateTime time, Status status, Pageable pageable);
-
-    @Query("select b from Booking b where b.item.id = :itemId and b.start > :time and b.status <> :status order by b.start ASC")
-    List<Booking> findFutureBookingByItemId(Long itemId, LocalDateTime time, Status status, Pageable pageable);
-
-    List<Booking> findAllBookingsByItemIdInAndStatusNotOrderByStartDesc(List<Long> ids, Status status);
+    /**
+     * Для каждой вещи из списка - одна строка с последним (самым ранним из завершённых) и следующим бронированием.
+     * Каждое бронирование выбирается подзапросом с limit 1 по индексам (item_id, end_date) и (item_id, start_date),
+     * поэтому база читает по одной строке на вещь, а не всю историю её бронирований.
+     */
+    @Query(value = "select i.id as itemId, "
+            + "l.id as lastBookingId, l.booker_id as lastBookerId, "
+            + "n.id as nextBookingId, n.booker_id as nextBookerId "
+            + "from items i "
+            + "left join bookings l on l.id = (select b.id from bookings b "
+            + "where b.item_id = i.id and b.status <> :status and b.end_date < :time "
+            + "order by b.end_date, b.id limit 1) "
+            + "left join bookings n on n.id = (select b.id from bookings b "
+            + "where b.item_id = i.id and b.status <> :status and b.start_date > :time "
+            + "order by b.start_date, b.id limit 1) "
+            + "where i.id in (:itemIds) and (l.id is not null or n.id is not null)", nativeQuery = true)
+    List<ItemBookings> findLastAndNextBookingsByItemIds(List<Long> itemIds, LocalDateTime time, String status);
+
+    @Query("select b.item.id as itemId, count(b) as bookings from Booking b where b.status = :status group by b.item.id")
+    List<ItemBookingCount> countBookingsByItem(Status status);
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.enums.Status;
+
+/**
+ * Участники и статус бронирования для проверки прав без загрузки бронирования, вещи и пользователей.
+ */
+public interface BookingAccess {
+    Long getBookerId();
+
+    Long getOwnerId();
+
+    Long getItemId();
+
+    Status getStatus();
+}
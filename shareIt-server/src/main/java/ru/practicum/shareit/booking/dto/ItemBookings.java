@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+/**
+ * Последнее и следующее бронирование вещи, выбранные на стороне базы.
+ */
+public interface ItemBookings {
+    Long getItemId();
+
+    Long getLastBookingId();
+
+    Long getLastBookerId();
+
+    Long getNextBookingId();
+
+    Long getNextBookerId();
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.service;
+
+/**
+ * Публикуется, когда владелец подтверждает бронирование. Слушатели получают его после фиксации транзакции.
+ */
+public record BookingApprovedEvent(Long itemId) {
+}
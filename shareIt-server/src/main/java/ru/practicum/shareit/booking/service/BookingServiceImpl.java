@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -8,7 +9,6 @@ import ru.practicum.shareit.booking.DAO.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
-import ru.practicum.shareit.booking.dto.ShortBookingItemDto;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
@@ -16,6 +16,7 @@ import ru.practicum.shareit.booking.service.interfaces.BookingService;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.interfaces.UserService;
 import ru.practicum.shareit.utils.PaginationServiceClass;
@@ -23,9 +24,6 @@ import ru.practicum.shareit.utils.PaginationServiceClass;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 
 @Service
@@ -37,6 +35,8 @@ public class BookingServiceImpl implements BookingService {
     private final UserService userService;
     private final BookingMapper bookingMapper;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemSummaryService itemSummaryService;
 
     @Override
     @Transactional
@@ -56,49 +56,55 @@ public class BookingServiceImpl implements BookingService {
         }
         booking.setStatus(Status.WAITING);
         var createdBooking = bookingRepository.save(booking);
+        itemSummaryService.refresh(item.getId());
         return bookingMapper.toBookingResponseDto(createdBooking);
     }
 
     @Override
     @Transactional
     public BookingResponseDto managingBookingStatus(Long bookingId, Long userId, Boolean approved) {
-        var booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
+        var access = bookingRepository.findAccessById(bookingId).orElseThrow(() -> {
             throw new NotFoundException("Бронирование с таким id: " + bookingId + ", отсутствует.");
         });
-        if (!booking.getItem().getOwner().getId().equals(userId)) {
+        if (!access.getOwnerId().equals(userId)) {
             throw new BadRequestException("Указанный пользователь c userId = " + userId +
-                    " не является владельцем вещи c itemId = " + booking.getItem().getId());
+                    " не является владельцем вещи c itemId = " + access.getItemId());
         }
-        if (!booking.getStatus().equals(Status.WAITING)) {
+        if (!access.getStatus().equals(Status.WAITING)) {
             throw new BadRequestException("Бронирование уже было переведено из статуса WAITING");
         }
+        var booking = findBookingForResponse(bookingId);
         if (approved) {
             booking.setStatus(Status.APPROVED);
         } else {
             booking.setStatus(Status.REJECTED);
         }
         bookingRepository.save(booking);
+        itemSummaryService.refresh(access.getItemId());
+        if (approved) {
+            eventPublisher.publishEvent(new BookingApprovedEvent(access.getItemId()));
+        }
         return bookingMapper.toBookingResponseDto(booking);
     }
 
     @Override
     public BookingResponseDto getBookingById(Long userId, Long bookingId) {
-        userService.getUserById(userId);
-        var booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
+        userService.checkUserExists(userId);
+        var access = bookingRepository.findAccessById(bookingId).orElseThrow(() -> {
             throw new NotFoundException("Бронирование с таким id: " + bookingId + ", отсутствует.");
         });
-        if (booking.getBooker().getId().equals(userId) || booking.getItem().getOwner().getId().equals(userId)) {
-            return bookingMapper.toBookingResponseDto(booking);
+        if (access.getBookerId().equals(userId) || access.getOwnerId().equals(userId)) {
+            return bookingMapper.toBookingResponseDto(findBookingForResponse(bookingId));
         } else {
             throw new NotFoundException("Указанный пользователь c userId = " + userId +
-                    " не является автором бронирования или владельцем вещи c itemId = " + booking.getItem().getId());
+                    " не является автором бронирования или владельцем вещи c itemId = " + access.getItemId());
         }
     }
 
     @Override
     public List<BookingResponseDto> getAllBookingsOfUser(Long userId, String state, Integer from, Integer size) {
         var validState = State.isStateValid(state);
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         Pageable page = PaginationServiceClass.pagination(from, size);
         switch (validState) {
             case ALL -> {
@@ -162,24 +168,9 @@ public class BookingServiceImpl implements BookingService {
         return null;
     }
 
-    @Override
-    public Optional<ShortBookingItemDto> findLastBookingByItemId(Long itemId) {
-        var bookings = bookingRepository.findLastBookingByItemId(itemId, LocalDateTime.now(), Status.REJECTED, Pageable.ofSize(1));
-        var shortBookings = bookingMapper.toListShortBooking(bookings);
-        return shortBookings.stream().findFirst();
-    }
-
-    @Override
-    public Optional<ShortBookingItemDto> findFutureBookingByItemId(Long itemId) {
-        var bookings = bookingRepository.findFutureBookingByItemId(itemId, LocalDateTime.now(), Status.REJECTED, Pageable.ofSize(1));
-        var shortBookings = bookingMapper.toListShortBooking(bookings);
-        return shortBookings.stream().findFirst();
-    }
-
-    @Override
-    public Map<Item, List<Booking>> findAllBookingsByItemIds(List<Long> itemIds) {
-        var bookingsFromDb = bookingRepository.findAllBookingsByItemIdInAndStatusNotOrderByStartDesc(itemIds, Status.REJECTED);
-        return bookingsFromDb.stream()
-                .collect(Collectors.groupingBy(Booking::getItem));
+    private Booking findBookingForResponse(Long bookingId) {
+        return bookingRepository.findWithBookerAndItemById(bookingId).orElseThrow(() -> {
+            throw new NotFoundException("Бронирование с таким id: " + bookingId + ", отсутствует.");
+        });
     }
 }
@@ -18,14 +18,14 @@ public class ItemBookingValidationService {
     private final ItemRepository itemRepository;
 
     public void isUserHaveItems(Long userId) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         if (!itemService.isUserHaveItems(userId)) {
             throw new BadRequestException("У данного пользователя нет вещей, userId - " + userId);
         }
     }
 
     public Item isItemAvailable(Long itemId, Long userId) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         var item = itemRepository.findById(itemId).orElseThrow(
                 () -> new NotFoundException("Вещь с таким id: " + itemId + ", отсутствует."));
         if (!item.getAvailable()) {
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.regex.Pattern;
+
+/**
+ * Сильные ETag для карточек вещей, запросов и пользователей.
+ * Gateway кэширует эти ответы и перепроверяет их через If-None-Match, сервер отвечает 304 без тела.
+ * Списки ETag не получают: Tomcat не сжимает ответы с сильным ETag.
+ */
+@Configuration
+public class EtagConfig {
+    private static final Pattern SINGLE_RESOURCE = Pattern.compile("^/(items|requests|users)/\\d+$");
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        var registration = new FilterRegistrationBean<ShallowEtagHeaderFilter>(new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return !SINGLE_RESOURCE.matcher(request.getRequestURI()).matches();
+            }
+        });
+        registration.addUrlPatterns("/items/*", "/requests/*", "/users/*");
+        return registration;
+    }
+}
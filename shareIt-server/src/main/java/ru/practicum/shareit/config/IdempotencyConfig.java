@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.idempotency.IdempotencyFilter;
+import ru.practicum.shareit.idempotency.IdempotencyStore;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(JdbcTemplate jdbcTemplate,
+                                             @Value("${shareit.idempotency.ttl:1h}") Duration ttl,
+                                             @Value("${shareit.idempotency.lease:1m}") Duration lease) {
+        return new IdempotencyStore(jdbcTemplate, ttl, lease);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore) {
+        return new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyStore));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Кэш второго уровня Hibernate для редко изменяемых сущностей (User, Item, ItemRequest).
+ * Включается свойством shareit.second-level-cache.enabled. Каждый регион - отдельный кэш Ehcache в памяти
+ * процесса со своим размером и TTL. Регионы создаются заранее (у каждого контекста - свой менеджер кэшей):
+ * сущность с @Cache без настроенного региона не даст приложению запуститься. Вместе с кэшем включается статистика Hibernate, которую actuator
+ * публикует как метрики hibernate.second.level.cache.*.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "shareit.second-level-cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        var configuration = ConfigurationBuilder.newConfigurationBuilder();
+        for (var entry : properties.getRegions().entrySet()) {
+            var region = entry.getValue();
+            configuration = configuration.withCache(entry.getKey(), CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(region.getMaxEntries()))
+                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(region.getTtl()))
+                    .build());
+            log.info("Регион кэша второго уровня {}: до {} записей, TTL {}", entry.getKey(), region.getMaxEntries(), region.getTtl());
+        }
+        var provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:shareit:second-level-cache:" + UUID.randomUUID()), configuration.build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
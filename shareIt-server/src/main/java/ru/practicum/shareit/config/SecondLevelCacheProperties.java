@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.second-level-cache")
+public class SecondLevelCacheProperties {
+    private boolean enabled = false;
+    /**
+     * Регионы кэша второго уровня по имени из @Cache(region = ...) сущности.
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+        private int maxEntries = 1000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
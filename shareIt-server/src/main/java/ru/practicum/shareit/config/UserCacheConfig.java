@@ -0,0 +1,19 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.user.service.UserExistenceCache;
+
+import java.time.Duration;
+
+@Configuration
+public class UserCacheConfig {
+
+    @Bean
+    public UserExistenceCache userExistenceCache(@Value("${shareit.users.cache.max-entries:10000}") int maxEntries,
+                                                 @Value("${shareit.users.cache.ttl:1m}") Duration ttl,
+                                                 @Value("${shareit.users.cache.negative-ttl:0s}") Duration negativeTtl) {
+        return new UserExistenceCache(maxEntries, ttl, negativeTtl);
+    }
+}
@@ -2,5 +2,7 @@ package ru.practicum.shareit.constants;
 
 public class Constant {
     public static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    public static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String HEADER_IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
     public static final String DATE_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
 }
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import ru.practicum.shareit.constants.Constant;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Повторный POST с тем же Idempotency-Key от того же пользователя на тот же путь получает сохранённый
+ * ответ без повторного выполнения. Пока первый запрос выполняется, повтор получает 409 Conflict,
+ * а повтор ключа с другим телом запроса - 422 Unprocessable Entity.
+ * Ответы 5xx не сохраняются: такой запрос можно повторить.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+
+    public IdempotencyFilter(IdempotencyStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(Constant.HEADER_IDEMPOTENCY_KEY) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var idempotencyKey = request.getHeader(Constant.HEADER_IDEMPOTENCY_KEY);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Некорректный " + Constant.HEADER_IDEMPOTENCY_KEY + ".");
+            return;
+        }
+        var userId = parseUserId(request.getHeader(Constant.HEADER_USER_ID));
+        if (userId == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        var path = request.getRequestURI();
+        var cachedRequest = new CachedBodyRequest(request);
+        var requestHash = cachedRequest.bodyHash();
+
+        var existing = store.claim(userId, path, idempotencyKey, requestHash);
+        if (existing != null) {
+            if (!existing.matches(requestHash)) {
+                log.warn("{} = {} повторно использован с другим телом запроса", Constant.HEADER_IDEMPOTENCY_KEY, idempotencyKey);
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, Constant.HEADER_IDEMPOTENCY_KEY
+                        + " уже использован с другим телом запроса.");
+                return;
+            }
+            if (existing.isInProgress()) {
+                log.warn("Запрос с {} = {} ещё выполняется", Constant.HEADER_IDEMPOTENCY_KEY, idempotencyKey);
+                writeError(response, HttpStatus.CONFLICT, "Запрос с таким " + Constant.HEADER_IDEMPOTENCY_KEY
+                        + " ещё выполняется.");
+                return;
+            }
+            log.info("Повтор запроса с {} = {}, возвращён сохранённый ответ", Constant.HEADER_IDEMPOTENCY_KEY, idempotencyKey);
+            response.setStatus(existing.getStatus());
+            response.setHeader(Constant.HEADER_IDEMPOTENT_REPLAYED, "true");
+            if (existing.getContentType() != null) {
+                response.setContentType(existing.getContentType());
+            }
+            if (existing.getBody() != null) {
+                response.getOutputStream().write(existing.getBody());
+            }
+            return;
+        }
+
+        var responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(cachedRequest, responseWrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            store.release(userId, path, idempotencyKey);
+            throw e;
+        }
+        if (responseWrapper.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            store.release(userId, path, idempotencyKey);
+        } else {
+            store.complete(userId, path, idempotencyKey, responseWrapper.getStatus(), responseWrapper.getContentType(),
+                    responseWrapper.getContentAsByteArray());
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Без корректного заголовка пользователя ключ не к кому привязать; такой запрос отклонит контроллер.
+     */
+    private static Long parseUserId(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+}
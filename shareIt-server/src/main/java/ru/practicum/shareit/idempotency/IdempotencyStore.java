@@ -0,0 +1,127 @@
+package ru.practicum.shareit.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Хранилище ответов на запросы с Idempotency-Key в таблице idempotency_keys. Таблица общая для всех
+ * экземпляров сервера, поэтому повтор, попавший на другой экземпляр, тоже получает сохранённый ответ.
+ * Ключ занимается вставкой строки: первичный ключ (user_id, path, idempotency_key) гарантирует,
+ * что из параллельных запросов выполнится только один. Записи старше ttl удаляются.
+ * Незавершённый запрос держит ключ не дольше lease: если экземпляр упал, не освободив ключ,
+ * повтор после lease занимает его заново. Поэтому lease должен превышать время выполнения запроса.
+ */
+@Slf4j
+public class IdempotencyStore {
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Clock clock;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl, Duration lease) {
+        this(jdbcTemplate, ttl, lease, Clock.systemUTC());
+    }
+
+    IdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl, Duration lease, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.clock = clock;
+    }
+
+    /**
+     * Занимает ключ для нового запроса.
+     *
+     * @return null, если ключ свободен и теперь занят вызывающим, иначе существующая запись
+     */
+    public Entry claim(long userId, String path, String key, String requestHash) {
+        var now = LocalDateTime.now(clock);
+        jdbcTemplate.update("delete from idempotency_keys "
+                + "where user_id = ? and path = ? and idempotency_key = ? "
+                + "and (created_at <= ? or (status is null and created_at <= ?))",
+                userId, path, key, now.minus(ttl), now.minus(lease));
+        while (true) {
+            try {
+                jdbcTemplate.update("insert into idempotency_keys "
+                        + "(user_id, path, idempotency_key, request_hash, created_at) values (?, ?, ?, ?, ?)",
+                        userId, path, key, requestHash, now);
+                return null;
+            } catch (DuplicateKeyException e) {
+                var existing = jdbcTemplate.query("select request_hash, status, content_type, body "
+                                + "from idempotency_keys where user_id = ? and path = ? and idempotency_key = ?",
+                        (rs, rowNum) -> new Entry(rs.getString("request_hash"), rs.getInt("status"),
+                                rs.getString("content_type"), rs.getBytes("body")),
+                        userId, path, key);
+                if (!existing.isEmpty()) {
+                    return existing.get(0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Сохраняет ответ, только пока ключ не завершён: ответ запроса, у которого ключ перехватили
+     * после lease, не заменит уже сохранённый.
+     */
+    public void complete(long userId, String path, String key, int status, String contentType, byte[] body) {
+        jdbcTemplate.update("update idempotency_keys set status = ?, content_type = ?, body = ? "
+                + "where user_id = ? and path = ? and idempotency_key = ? and status is null",
+                status, contentType, body, userId, path, key);
+    }
+
+    public void release(long userId, String path, String key) {
+        jdbcTemplate.update("delete from idempotency_keys "
+                + "where user_id = ? and path = ? and idempotency_key = ? and status is null",
+                userId, path, key);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.idempotency.cleanup-interval:PT10M}",
+            initialDelayString = "${shareit.idempotency.cleanup-interval:PT10M}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("delete from idempotency_keys where created_at <= ?",
+                LocalDateTime.now(clock).minus(ttl));
+        if (purged > 0) {
+            log.debug("Удалено устаревших ключей идемпотентности: {}", purged);
+        }
+    }
+
+    public static final class Entry {
+        private final String requestHash;
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        private Entry(String requestHash, int status, String contentType, byte[] body) {
+            this.requestHash = requestHash;
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public boolean isInProgress() {
+            return status == 0;
+        }
+
+        public boolean matches(String requestHash) {
+            return this.requestHash.equals(requestHash);
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
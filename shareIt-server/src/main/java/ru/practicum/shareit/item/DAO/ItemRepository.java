@@ -3,20 +3,61 @@ package ru.practicum.shareit.item.DAO;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDetails;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.Optional;
 
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
+
+    /**
+     * Выражения upper(name) и upper(description) совпадают с триграммными индексами из schema-postgresql.sql,
+     * поэтому на PostgreSQL поиск идёт по индексу. На H2 тот же запрос выполняется сканированием.
+     * Порядок по id позволяет листать страницы по курсору after без OFFSET.
+     */
     @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', :text, '%')) " +
-            " or upper(i.description) like upper(concat('%', :text, '%'))")
-    List<Item> searchItemToRent(String text, Pageable pageable);
+            "where i.available = true and i.id > :after " +
+            " and (upper(i.name) like upper(concat('%', :text, '%')) " +
+            " or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "order by i.id")
+    List<Item> searchItemToRent(String text, Long after, Pageable pageable);
+
+    /**
+     * Релевантность считается в ORDER BY, поэтому с LIMIT база держит только лучшие строки (top-N heapsort
+     * в PostgreSQL), а не сортирует все совпадения. Слово целиком - совпадение по словам search_tokens,
+     * разделитель - любой символ, кроме буквы и цифры. Число подтверждённых бронирований считается одной
+     * группировкой bookings, а не подзапросом на каждое совпадение.
+     */
+    @Query(value = "select i.* from items i " +
+            "left join (select b.item_id, count(*) as approved from bookings b " +
+            " where b.status = 'APPROVED' group by b.item_id) ab on ab.item_id = i.id " +
+            "where i.is_available = true " +
+            " and (upper(i.name) like upper(concat('%', :text, '%')) " +
+            " or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "order by " +
+            " case when search_tokens(i.name) like concat('%', search_tokens(:text), '%') then 8 " +
+            "  when upper(i.name) like upper(concat('%', :text, '%')) then 4 else 0 end " +
+            " + case when search_tokens(i.description) like concat('%', search_tokens(:text), '%') then 2 " +
+            "  when upper(i.description) like upper(concat('%', :text, '%')) then 1 else 0 end desc, " +
+            " coalesce(ab.approved, 0) desc, " +
+            " i.id",
+            nativeQuery = true)
+    List<Item> searchItemToRentByRelevance(String text, Pageable pageable);
+
+    @Query(value = "select i.id as id, i.name as name, i.description as description, i.is_available as available, " +
+            " i.owner_id as ownerId, i.request_id as requestId " +
+            "from items i where i.id = :itemId",
+            nativeQuery = true)
+    Optional<ItemDetails> findItemDetails(Long itemId);
 
     List<Item> findAllByOwnerIdOrderById(Long userId, Pageable pageable);
 
+    List<Item> findAllByIdGreaterThanOrderById(Long id, Pageable pageable);
+
     List<Item> findAllItemsByItemRequestIdIn(List<Long> ids);
 
     List<Item> findAllItemsByItemRequestId(Long itemRequestId);
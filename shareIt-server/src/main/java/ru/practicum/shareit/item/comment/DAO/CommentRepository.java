@@ -1,13 +1,26 @@
 package ru.practicum.shareit.item.comment.DAO;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.comment.dto.ItemComment;
 import ru.practicum.shareit.item.comment.model.Comment;
 
 import java.util.List;
 
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
-
-    List<Comment> findAllCommentsByItemIdInOrderByCreatedDesc(List<Long> ids);
+    /**
+     * Не больше limit последних комментариев к каждой вещи, от новых к старым.
+     * В total - общее число комментариев к вещи.
+     */
+    @Query(value = "select r.item_id as itemId, r.id as id, r.text as text, r.author_name as authorName, "
+            + "r.created_date as created, r.total as total "
+            + "from (select c.item_id, c.id, c.text, u.name as author_name, c.created_date, "
+            + "row_number() over (partition by c.item_id order by c.created_date desc, c.id desc) as rn, "
+            + "count(*) over (partition by c.item_id) as total "
+            + "from comments c join users u on u.id = c.author_id "
+            + "where c.item_id in (:itemIds)) r "
+            + "where r.rn <= :limit "
+            + "order by r.item_id, r.rn", nativeQuery = true)
+    List<ItemComment> findLatestByItemIds(List<Long> itemIds, int limit);
 }
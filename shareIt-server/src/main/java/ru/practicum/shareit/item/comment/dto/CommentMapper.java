@@ -12,6 +12,8 @@ public interface CommentMapper {
     @Mapping(source = "author.name", target = "authorName")
     CommentDto toCommentDto(Comment comment);
 
+    CommentDto toCommentDto(ItemComment comment);
+
     Comment toComment(CommentDto commentDto);
 
     List<CommentDto> toListCommentsDto(List<Comment> comments);
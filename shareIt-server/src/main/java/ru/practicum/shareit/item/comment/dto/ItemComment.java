@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.comment.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Комментарий вместе с именем автора и общим числом комментариев к вещи.
+ */
+public interface ItemComment {
+    Long getItemId();
+
+    Long getId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+
+    Long getTotal();
+}
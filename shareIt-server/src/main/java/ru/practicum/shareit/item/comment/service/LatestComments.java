@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.comment.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.comment.DAO.CommentRepository;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.dto.CommentMapper;
+import ru.practicum.shareit.item.comment.dto.ItemComment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Последние комментарии к списку вещей: не больше limit на вещь и общее число комментариев.
+ * Всё читается одним запросом вместе с именами авторов, результат сгруппирован по id вещи.
+ */
+@Component
+public class LatestComments {
+    private final CommentRepository commentRepository;
+    private final CommentMapper commentMapper;
+    private final int limit;
+
+    public LatestComments(CommentRepository commentRepository, CommentMapper commentMapper,
+                          @Value("${shareit.items.comments-limit:10}") int limit) {
+        this.commentRepository = commentRepository;
+        this.commentMapper = commentMapper;
+        this.limit = limit;
+    }
+
+    public Map<Long, ItemComments> findByItemIds(List<Long> itemIds) {
+        var result = new HashMap<Long, ItemComments>(itemIds.size() * 2);
+        for (ItemComment comment : commentRepository.findLatestByItemIds(itemIds, limit)) {
+            result.computeIfAbsent(comment.getItemId(), id -> new ItemComments(new ArrayList<>(), comment.getTotal()))
+                    .comments().add(commentMapper.toCommentDto(comment));
+        }
+        return result;
+    }
+
+    public record ItemComments(List<CommentDto> comments, long total) {
+    }
+}
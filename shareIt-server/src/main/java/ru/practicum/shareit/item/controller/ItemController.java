@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.constants.Constant;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.service.interfaces.ItemService;
 
 import java.util.List;
@@ -55,9 +56,19 @@ public class ItemController {
     public List<ItemDto> findItemToRent(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
                                         @RequestParam(required = false) String text,
                                         @RequestParam(defaultValue = "0") Integer from,
-                                        @RequestParam(defaultValue = "10") Integer size) {
+                                        @RequestParam(defaultValue = "10") Integer size,
+                                        @RequestParam(required = false) Long after,
+                                        @RequestParam(defaultValue = "ID") String sort) {
         log.info("Поступил GET-запрос от user c id = {} на поиск item", userId);
-        return itemService.searchItemToRent(userId, text, from, size);
+        return itemService.searchItemToRent(userId, text, from, size, after, sort);
+    }
+
+    @GetMapping("/suggest")
+    public List<ItemSuggestionDto> suggestItems(@RequestHeader(Constant.HEADER_USER_ID) Long userId,
+                                                @RequestParam String prefix,
+                                                @RequestParam(defaultValue = "10") Integer size) {
+        log.debug("Поступил GET-запрос от user c id = {} на подсказки по названию item", userId);
+        return itemService.suggestItems(prefix, size);
     }
 
     @PostMapping("{itemId}/comment")
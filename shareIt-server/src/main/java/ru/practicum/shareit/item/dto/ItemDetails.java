@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Поля вещи и id владельца без загрузки связанных сущностей.
+ */
+public interface ItemDetails {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+
+    Long getRequestId();
+}
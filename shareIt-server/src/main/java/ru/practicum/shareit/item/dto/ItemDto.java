@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -23,5 +24,7 @@ public class ItemDto {
     private ShortBookingItemDto lastBooking;
     private ShortBookingItemDto nextBooking;
     private List<CommentDto> comments;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long commentCount;
     private Long requestId;
 }
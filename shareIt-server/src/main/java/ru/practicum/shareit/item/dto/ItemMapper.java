@@ -6,7 +6,9 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValueCheckStrategy;
 import org.mapstruct.NullValuePropertyMappingStrategy;
+import ru.practicum.shareit.booking.dto.ShortBookingItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.ItemSummary;
 
 import java.util.List;
 
@@ -20,6 +22,36 @@ public interface ItemMapper {
 
     List<ItemDto> toListItemDto(List<Item> items);
 
+    default ItemDto toItemDto(ItemDetails details) {
+        var itemDto = new ItemDto();
+        itemDto.setId(details.getId());
+        itemDto.setName(details.getName());
+        itemDto.setDescription(details.getDescription());
+        itemDto.setAvailable(details.getAvailable());
+        itemDto.setRequestId(details.getRequestId());
+        return itemDto;
+    }
+
+    default void setBookings(ItemDto itemDto, ItemSummary summary) {
+        itemDto.setLastBooking(toShortBooking(summary.getLastBookingId(), summary.getLastBookerId()));
+        itemDto.setNextBooking(toShortBooking(summary.getNextBookingId(), summary.getNextBookerId()));
+    }
+
+    default void setListBookings(ItemDto itemDto, ItemSummary summary) {
+        itemDto.setLastBooking(toShortBooking(summary.getListLastBookingId(), summary.getListLastBookerId()));
+        itemDto.setNextBooking(toShortBooking(summary.getNextBookingId(), summary.getNextBookerId()));
+    }
+
+    private static ShortBookingItemDto toShortBooking(Long bookingId, Long bookerId) {
+        if (bookingId == null) {
+            return null;
+        }
+        var booking = new ShortBookingItemDto();
+        booking.setId(bookingId);
+        booking.setBookerId(bookerId);
+        return booking;
+    }
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE,
             nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
     void updateItemFromItemDto(ItemDto itemDto, @MappingTarget Item item);
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.DAO.BookingRepository;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.service.BookingApprovedEvent;
+import ru.practicum.shareit.item.DAO.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск по индексу триграмм в памяти. Индекс строится при старте из ItemRepository и обновляется
+ * после фиксации транзакций, создающих или изменяющих вещи и подтверждающих бронирования.
+ * Из базы загружается только страница результата.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class IndexItemSearch implements ItemSearch {
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final TrigramIndex index = new TrigramIndex();
+
+    @PostConstruct
+    public void build() {
+        long startedAt = System.nanoTime();
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findAllByIdGreaterThanOrderById(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (Item item : batch) {
+                index.put(Math.toIntExact(item.getId()), item.getName(), item.getDescription(), item.getAvailable());
+                lastId = item.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        for (var count : bookingRepository.countBookingsByItem(Status.APPROVED)) {
+            index.setApprovedBookings(Math.toIntExact(count.getItemId()), Math.toIntExact(count.getBookings()));
+        }
+        log.info("Индекс поиска построен за {} мс: вещей {}, триграмм {}, ~{} КБ",
+                (System.nanoTime() - startedAt) / 1_000_000, index.size(), index.gramCount(), index.estimatedBytes() / 1024);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        index.put(Math.toIntExact(event.id()), event.name(), event.description(), event.available());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingApproved(BookingApprovedEvent event) {
+        index.addApprovedBooking(Math.toIntExact(event.itemId()));
+    }
+
+    @Override
+    public List<Item> search(String text, long after, Pageable page) {
+        return hydrate(index.search(text, Math.toIntExact(after), page.getOffset(), page.getPageSize()));
+    }
+
+    @Override
+    public List<Item> searchByRelevance(String text, Pageable page) {
+        return hydrate(index.searchByRelevance(text, page.getOffset(), page.getPageSize()));
+    }
+
+    private List<Item> hydrate(int[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        var items = itemRepository.findAllById(Arrays.stream(ids).mapToObj(Long::valueOf).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return Arrays.stream(ids)
+                .mapToObj(id -> items.get((long) id))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Публикуется при создании и обновлении вещи. Слушатели получают его после фиксации транзакции.
+ */
+public record ItemSavedEvent(Long id, String name, String description, boolean available) {
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по подстроке в названии или описании без учёта регистра.
+ * Результат search упорядочен по id и содержит только вещи с id больше after.
+ * Реализация выбирается свойством shareit.search.engine: database или index.
+ */
+public interface ItemSearch {
+
+    List<Item> search(String text, long after, Pageable page);
+
+    /**
+     * Страница результатов по убыванию релевантности: совпадение со словом в названии, подстрока в названии,
+     * слово в описании, подстрока в описании; при равенстве - по числу подтверждённых бронирований, затем по id.
+     */
+    List<Item> searchByRelevance(String text, Pageable page);
+}
@@ -0,0 +1,194 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.item.DAO.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Подсказки по началу названия доступных вещей. Названия хранятся в массиве, отсортированном без учёта регистра,
+ * поиск - двоичный, без блокировок: читатели работают с неизменяемым снимком, а запись строит новый снимок
+ * и подменяет ссылку. Изменения приходят после фиксации транзакций, создающих или изменяющих вещи.
+ * Если приблизительный объём снимка превысил бы maxBytes, новые названия не добавляются.
+ */
+@Component
+@Slf4j
+public class ItemSuggestions {
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final ItemRepository itemRepository;
+    private final long maxBytes;
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new long[0], 0);
+
+    public ItemSuggestions(ItemRepository itemRepository,
+                           @Value("${shareit.suggest.max-bytes:16MB}") DataSize maxBytes) {
+        this.itemRepository = itemRepository;
+        this.maxBytes = maxBytes.toBytes();
+    }
+
+    @PostConstruct
+    public void build() {
+        var entries = new ArrayList<Item>();
+        long bytes = 0;
+        long lastId = 0;
+        int skipped = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findAllByIdGreaterThanOrderById(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (Item item : batch) {
+                lastId = item.getId();
+                if (!Boolean.TRUE.equals(item.getAvailable())) {
+                    continue;
+                }
+                if (bytes + entryBytes(item.getName()) > maxBytes) {
+                    skipped++;
+                    continue;
+                }
+                bytes += entryBytes(item.getName());
+                entries.add(item);
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        entries.sort(Comparator.comparing(Item::getName, String.CASE_INSENSITIVE_ORDER).thenComparing(Item::getId));
+        var names = new String[entries.size()];
+        var ids = new long[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            names[i] = entries.get(i).getName();
+            ids[i] = entries.get(i).getId();
+        }
+        snapshot = new Snapshot(names, ids, bytes);
+        if (skipped > 0) {
+            log.warn("Превышен объём подсказок {} байт, не добавлено названий: {}", maxBytes, skipped);
+        }
+        log.info("Подсказки по названиям построены: {} названий, ~{} КБ", names.length, bytes / 1024);
+    }
+
+    public List<ItemSuggestionDto> suggest(String prefix, int limit) {
+        var current = snapshot;
+        var result = new ArrayList<ItemSuggestionDto>(Math.min(limit, 16));
+        for (int i = lowerBound(current.names, prefix); i < current.names.length && result.size() < limit; i++) {
+            if (!current.names[i].regionMatches(true, 0, prefix, 0, prefix.length())) {
+                break;
+            }
+            result.add(new ItemSuggestionDto(current.ids[i], current.names[i]));
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onItemSaved(ItemSavedEvent event) {
+        var current = snapshot;
+        long id = event.id();
+        int position = indexOf(current.ids, id);
+        if (position >= 0 && event.available() && current.names[position].equals(event.name())) {
+            return;
+        }
+        var names = current.names;
+        var ids = current.ids;
+        long bytes = current.bytes;
+        if (position >= 0) {
+            bytes -= entryBytes(names[position]);
+            names = remove(names, position);
+            ids = remove(ids, position);
+        }
+        if (event.available()) {
+            if (bytes + entryBytes(event.name()) > maxBytes) {
+                log.warn("Превышен объём подсказок {} байт, название вещи с id = {} не добавлено", maxBytes, id);
+            } else {
+                int insertAt = insertionPoint(names, ids, event.name(), id);
+                names = insert(names, insertAt, event.name());
+                ids = insert(ids, insertAt, id);
+                bytes += entryBytes(event.name());
+            }
+        }
+        snapshot = new Snapshot(names, ids, bytes);
+    }
+
+    public int size() {
+        return snapshot.names.length;
+    }
+
+    private static int lowerBound(String[] names, String prefix) {
+        int low = 0;
+        int high = names.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(names[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int insertionPoint(String[] names, long[] ids, String name, long id) {
+        int low = 0;
+        int high = names.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = String.CASE_INSENSITIVE_ORDER.compare(names[mid], name);
+            if (cmp < 0 || cmp == 0 && ids[mid] < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int indexOf(long[] ids, long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String[] remove(String[] array, int position) {
+        var copy = new String[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, position);
+        System.arraycopy(array, position + 1, copy, position, copy.length - position);
+        return copy;
+    }
+
+    private static long[] remove(long[] array, int position) {
+        var copy = new long[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, position);
+        System.arraycopy(array, position + 1, copy, position, copy.length - position);
+        return copy;
+    }
+
+    private static String[] insert(String[] array, int position, String value) {
+        var copy = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, position, copy, position + 1, array.length - position);
+        copy[position] = value;
+        return copy;
+    }
+
+    private static long[] insert(long[] array, int position, long value) {
+        var copy = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, position, copy, position + 1, array.length - position);
+        copy[position] = value;
+        return copy;
+    }
+
+    private static long entryBytes(String name) {
+        return ENTRY_OVERHEAD_BYTES + 2L * name.length();
+    }
+
+    private record Snapshot(String[] names, long[] ids, long bytes) {
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Locale;
+
+/**
+ * Разбиение текста на слова для ранжирования поиска: разделитель - любой символ, кроме буквы и цифры.
+ * В H2 метод tokens доступен как SQL-функция search_tokens (schema-h2.sql), в PostgreSQL
+ * функция с тем же результатом объявлена в schema-postgresql.sql.
+ */
+public final class SearchTokens {
+
+    private SearchTokens() {
+    }
+
+    /**
+     * Слова текста в верхнем регистре через пробел, с пробелом в начале и в конце:
+     * "Дрель, drill-set" - " ДРЕЛЬ DRILL SET ".
+     */
+    public static String tokens(String text) {
+        if (text == null) {
+            return null;
+        }
+        var upper = text.toUpperCase(Locale.ROOT);
+        var tokens = new StringBuilder(upper.length() + 2).append(' ');
+        boolean separator = true;
+        for (int i = 0; i < upper.length(); i++) {
+            char c = upper.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                tokens.append(c);
+                separator = false;
+            } else if (!separator) {
+                tokens.append(' ');
+                separator = true;
+            }
+        }
+        if (!separator) {
+            tokens.append(' ');
+        }
+        return tokens.toString();
+    }
+}
@@ -0,0 +1,371 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Инвертированный индекс триграмм названия и описания вещей. Документ - id вещи, списки вхождений -
+ * отсортированные массивы int. Доступность хранится битовой картой.
+ * При обновлении старые вхождения не удаляются: каждый кандидат перепроверяется по сохранённому тексту,
+ * поэтому устаревшие вхождения не попадают в результат.
+ */
+public class TrigramIndex {
+    private static final int GRAM = 3;
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final long MAX_RANKED_BOOKINGS = (1 << 27) - 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final BitSet available = new BitSet();
+    private String[] texts = new String[1024];
+    private int[] approvedBookings = new int[1024];
+    private int size;
+
+    public void put(int doc, String name, String description, boolean isAvailable) {
+        var text = normalize(name) + FIELD_SEPARATOR + normalize(description);
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(doc);
+            if (texts[doc] == null) {
+                size++;
+            }
+            if (!text.equals(texts[doc])) {
+                texts[doc] = text;
+                for (int i = 0; i + GRAM <= text.length(); i++) {
+                    postings.computeIfAbsent(gram(text, i), key -> new Postings()).add(doc);
+                }
+            }
+            available.set(doc, isAvailable);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void setApprovedBookings(int doc, int count) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(doc);
+            approvedBookings[doc] = count;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addApprovedBooking(int doc) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(doc);
+            approvedBookings[doc]++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает id доступных вещей больше after, содержащих text, по возрастанию id,
+     * начиная с offset-го совпадения.
+     */
+    public int[] search(String text, int after, long offset, int limit) {
+        var query = normalize(text);
+        var result = new int[limit];
+        int[] found = {0};
+        long[] skipped = {0};
+        lock.readLock().lock();
+        try {
+            forEachMatch(query, after, doc -> {
+                if (skipped[0]++ >= offset) {
+                    result[found[0]++] = doc;
+                }
+                return found[0] < limit;
+            });
+            return Arrays.copyOf(result, found[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает страницу доступных вещей, содержащих text, по убыванию релевантности:
+     * слово целиком в названии, подстрока в названии, слово целиком в описании, подстрока в описании.
+     * При равной релевантности выше вещь с большим числом подтверждённых бронирований, затем с меньшим id.
+     * Совпадения не сортируются целиком: в куче держатся только лучшие offset + limit.
+     */
+    public int[] searchByRelevance(String text, long offset, int limit) {
+        var query = normalize(text);
+        var top = new TopK((int) Math.min(offset + limit, Integer.MAX_VALUE));
+        lock.readLock().lock();
+        try {
+            forEachMatch(query, 0, doc -> {
+                top.offer(rank(doc, query));
+                return true;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        var ranked = top.sortedDescending();
+        int from = (int) Math.min(offset, ranked.length);
+        int to = Math.min(from + limit, ranked.length);
+        var result = new int[to - from];
+        for (int i = from; i < to; i++) {
+            result[i - from] = Integer.MAX_VALUE - (int) (ranked[i] & Integer.MAX_VALUE);
+        }
+        return result;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int gramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Приблизительный объём памяти индекса в байтах: массивы вхождений, тексты и битовая карта.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) texts.length * 2 * Integer.BYTES + available.size() / Byte.SIZE;
+            for (var list : postings.values()) {
+                bytes += 64 + (long) list.docs.length * Integer.BYTES;
+            }
+            for (int doc = 0; doc < texts.length; doc++) {
+                if (texts[doc] != null) {
+                    bytes += 40 + texts[doc].length();
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Передаёт consumer id доступных вещей больше after, содержащих query, по возрастанию.
+     * Обход прекращается, когда consumer возвращает false.
+     */
+    private void forEachMatch(String query, int after, IntPredicate consumer) {
+        if (query.length() < GRAM) {
+            for (int doc = available.nextSetBit(after + 1); doc >= 0; doc = available.nextSetBit(doc + 1)) {
+                if (texts[doc].contains(query) && !consumer.test(doc)) {
+                    return;
+                }
+            }
+            return;
+        }
+        var lists = queryPostings(query);
+        if (lists == null) {
+            return;
+        }
+        var cursors = new int[lists.length];
+        var first = lists[0];
+        int start = Arrays.binarySearch(first.docs, 0, first.size, after + 1);
+        for (int i = start < 0 ? -start - 1 : start; i < first.size; i++) {
+            int doc = first.docs[i];
+            if (available.get(doc) && containsAll(lists, cursors, doc) && texts[doc].contains(query)
+                    && !consumer.test(doc)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ключ сортировки: 4 бита релевантности, 27 бит числа бронирований и инвертированный id,
+     * чтобы при равенстве выше был меньший id.
+     */
+    private long rank(int doc, String query) {
+        var text = texts[doc];
+        int separator = text.indexOf(FIELD_SEPARATOR);
+        int score = 0;
+        if (containsToken(text, 0, separator, query)) {
+            score += 8;
+        } else if (indexOf(text, 0, separator, query) >= 0) {
+            score += 4;
+        }
+        if (containsToken(text, separator + 1, text.length(), query)) {
+            score += 2;
+        } else if (indexOf(text, separator + 1, text.length(), query) >= 0) {
+            score += 1;
+        }
+        long bookings = Math.min(approvedBookings[doc], MAX_RANKED_BOOKINGS);
+        return ((long) score << 59) | (bookings << 32) | (Integer.MAX_VALUE - doc);
+    }
+
+    private static boolean containsToken(String text, int from, int to, String query) {
+        for (int i = indexOf(text, from, to, query); i >= 0; i = indexOf(text, i + 1, to, query)) {
+            int end = i + query.length();
+            if ((i == from || !Character.isLetterOrDigit(text.charAt(i - 1)))
+                    && (end == to || !Character.isLetterOrDigit(text.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(String text, int from, int to, String query) {
+        int i = text.indexOf(query, from);
+        return i >= 0 && i + query.length() <= to ? i : -1;
+    }
+
+    private void ensureCapacity(int doc) {
+        if (doc >= texts.length) {
+            int capacity = Math.max(doc + 1, texts.length * 2);
+            texts = Arrays.copyOf(texts, capacity);
+            approvedBookings = Arrays.copyOf(approvedBookings, capacity);
+        }
+    }
+
+    private Postings[] queryPostings(String query) {
+        var grams = new HashMap<Long, Postings>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            long gram = gram(query, i);
+            var list = postings.get(gram);
+            if (list == null) {
+                return null;
+            }
+            grams.put(gram, list);
+        }
+        var lists = grams.values().toArray(Postings[]::new);
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        return lists;
+    }
+
+    private static boolean containsAll(Postings[] lists, int[] cursors, int doc) {
+        for (int i = 1; i < lists.length; i++) {
+            var list = lists[i];
+            int position = Arrays.binarySearch(list.docs, cursors[i], list.size, doc);
+            if (position < 0) {
+                cursors[i] = -position - 1;
+                return false;
+            }
+            cursors[i] = position;
+        }
+        return true;
+    }
+
+    private static long gram(String text, int from) {
+        return ((long) text.charAt(from) << 32) | ((long) text.charAt(from + 1) << 16) | text.charAt(from + 2);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] >= doc) {
+                int position = Arrays.binarySearch(docs, 0, size, doc);
+                if (position >= 0) {
+                    return;
+                }
+                insert(-position - 1, doc);
+                return;
+            }
+            insert(size, doc);
+        }
+
+        private void insert(int position, int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            System.arraycopy(docs, position, docs, position + 1, size - position);
+            docs[position] = doc;
+            size++;
+        }
+    }
+
+    /**
+     * Куча минимумов из не более чем capacity ключей: хранит лучшие ключи за O(n log k).
+     */
+    private static final class TopK {
+        private final int capacity;
+        private long[] heap = new long[16];
+        private int size;
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void offer(long key) {
+            if (capacity == 0) {
+                return;
+            }
+            if (size < capacity) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min((long) size * 2, capacity));
+                }
+                heap[size] = key;
+                siftUp(size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        long[] sortedDescending() {
+            var sorted = Arrays.copyOf(heap, size);
+            Arrays.sort(sorted);
+            for (int i = 0, j = sorted.length - 1; i < j; i++, j--) {
+                long tmp = sorted[i];
+                sorted[i] = sorted[j];
+                sorted[j] = tmp;
+            }
+            return sorted;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= heap[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && heap[left] < heap[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && heap[right] < heap[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long tmp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = tmp;
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.interfaces.BookingService;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -16,25 +16,27 @@ import ru.practicum.shareit.item.DAO.ItemRepository;
 import ru.practicum.shareit.item.comment.DAO.CommentRepository;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CommentMapper;
-import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.enums.SearchSort;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSavedEvent;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.ItemSuggestions;
+import ru.practicum.shareit.item.search.SearchTokens;
 import ru.practicum.shareit.item.service.interfaces.ItemService;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.request.DAO.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.interfaces.UserService;
 import ru.practicum.shareit.utils.PaginationServiceClass;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -47,10 +49,13 @@ public class ItemServiceImpl implements ItemService {
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
     private final CommentMapper commentMapper;
-    private final BookingMapper bookingMapper;
     private final UserService userService;
     private final BookingService bookingService;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearch itemSearch;
+    private final ItemSuggestions itemSuggestions;
+    private final ItemSummaryService itemSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -64,42 +69,46 @@ public class ItemServiceImpl implements ItemService {
             item.setItemRequest(itemRequest);
         }
         item.setOwner(user);
-        return itemMapper.toItemDto(itemRepository.save(item));
+        var savedItem = saveItem(item);
+        itemSummaryService.create(savedItem.getId());
+        return itemMapper.toItemDto(savedItem);
     }
 
     @Override
     @Transactional
     public ItemDto updateItem(Long itemId, ItemDto itemDto, Long userId) {
-        userService.getUserById(userId);
-        var item = itemRepository.findById(itemId).orElseThrow(
-                () -> new NotFoundException("Вещь с таким id: " + itemId + ", отсутствует."));
-        if (!item.getOwner().getId().equals(userId)) {
+        userService.checkUserExists(userId);
+        if (!itemRepository.existsByIdAndOwnerId(itemId, userId)) {
+            if (!itemRepository.existsById(itemId)) {
+                throw new NotFoundException("Вещь с таким id: " + itemId + ", отсутствует.");
+            }
             throw new NotFoundException("Данный пользователь " + userId + " не является владельцем вещи с id: " + itemId);
         }
+        var item = itemRepository.findById(itemId).orElseThrow(
+                () -> new NotFoundException("Вещь с таким id: " + itemId + ", отсутствует."));
         itemMapper.updateItemFromItemDto(itemDto, item);
-        return itemMapper.toItemDto(itemRepository.save(item));
+        return itemMapper.toItemDto(saveItem(item));
     }
 
     @Override
     public ItemDto getItemById(Long userId, Long itemId) {
-        userService.getUserById(userId);
-        var item = itemRepository.findById(itemId).orElseThrow(
+        userService.checkUserExists(userId);
+        var itemDetails = itemRepository.findItemDetails(itemId).orElseThrow(
                 () -> new NotFoundException("Вещь с таким id: " + itemId + ", отсутствует."));
-        var itemDto = itemMapper.toItemDto(item);
-        if (item.getOwner().getId().equals(userId)) {
-            var lastBooking = bookingService.findLastBookingByItemId(item.getId());
-            var nextBooking = bookingService.findFutureBookingByItemId(item.getId());
-            lastBooking.ifPresent(itemDto::setLastBooking);
-            nextBooking.ifPresent(itemDto::setNextBooking);
+        var itemDto = itemMapper.toItemDto(itemDetails);
+        var summary = itemSummaryService.findByItemIds(List.of(itemId)).get(itemId);
+        if (itemDetails.getOwnerId().equals(userId)) {
+            itemMapper.setBookings(itemDto, summary);
         }
-        var commentsDto = commentMapper.toListCommentsDto(commentRepository.findAllByItemId(itemId));
-        itemDto.setComments(commentsDto);
+        var comments = itemSummaryService.readComments(summary);
+        itemDto.setComments(comments == null ? new ArrayList<>() : comments);
+        itemDto.setCommentCount(summary.getCommentCount());
         return itemDto;
     }
 
     @Override
     public List<ItemDto> getUserItems(Long userId, Integer from, Integer size) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         Pageable page = PaginationServiceClass.pagination(from, size);
         var allItemsDto = itemRepository.findAllByOwnerIdOrderById(userId, page)
                 .stream()
@@ -109,53 +118,53 @@ public class ItemServiceImpl implements ItemService {
             return new ArrayList<>();
         }
         var itemIds = allItemsDto.stream().map(ItemDto::getId).collect(Collectors.toList());
-        var bookingsMap = bookingService.findAllBookingsByItemIds(itemIds);
-        var comments = commentRepository.findAllCommentsByItemIdInOrderByCreatedDesc(itemIds);
-        var commentsMap = comments.stream().collect(Collectors.groupingBy(Comment::getItem));
-
-        Map<Long, List<Optional<Booking>>> resultBookingsMap = new HashMap<>();
-        bookingsMap.forEach((item, bookings) -> {
-            Optional<Booking> lastBooking = bookings.stream()
-                    .filter(booking -> booking.getEnd().isBefore(LocalDateTime.now()))
-                    .min(Comparator.comparing(Booking::getEnd));
-
-            Optional<Booking> nextBooking = bookings.stream()
-                    .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                    .min(Comparator.comparing(Booking::getStart));
-
-            resultBookingsMap.put(item.getId(), List.of(lastBooking, nextBooking));
-        });
+        var summaries = itemSummaryService.findByItemIds(itemIds);
 
         for (ItemDto itemDto : allItemsDto) {
-            var itemBookings = resultBookingsMap.get(itemDto.getId());
-            if (itemBookings != null) {
-                var last = itemBookings.get(0);
-                var next = itemBookings.get(1);
-                last.ifPresent(booking -> itemDto.setLastBooking(bookingMapper.toShortBooking(booking)));
-                next.ifPresent(booking -> itemDto.setNextBooking(bookingMapper.toShortBooking(booking)));
-            }
-            var itemComments = commentsMap.get(itemMapper.toItem(itemDto));
-            itemDto.setComments(commentMapper.toListCommentsDto(itemComments));
+            var summary = summaries.get(itemDto.getId());
+            itemMapper.setListBookings(itemDto, summary);
+            itemDto.setComments(itemSummaryService.readComments(summary));
+            itemDto.setCommentCount(summary.getCommentCount());
         }
         return allItemsDto;
     }
 
     @Override
-    public List<ItemDto> searchItemToRent(Long userId, String text, Integer from, Integer size) {
-        userService.getUserById(userId);
-        Pageable page = PaginationServiceClass.pagination(from, size);
+    public List<ItemDto> searchItemToRent(Long userId, String text, Integer from, Integer size, Long after, String sort) {
+        userService.checkUserExists(userId);
+        var validSort = SearchSort.isSortValid(sort);
+        if (after != null && validSort != SearchSort.ID) {
+            throw new BadRequestException("Параметр after поддерживается только для sort = ID.");
+        }
         if (text == null) {
             throw new BadRequestException("Параметр для поиска вещи пустой.");
         }
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.searchItemToRent(text, page).stream()
-                .filter(Item::getAvailable)
+        List<Item> items;
+        if (validSort == SearchSort.RELEVANCE && !SearchTokens.tokens(text).isBlank()) {
+            items = itemSearch.searchByRelevance(text, PaginationServiceClass.pagination(from, size));
+        } else {
+            Pageable page = after == null ? PaginationServiceClass.pagination(from, size) : PageRequest.of(0, size);
+            items = itemSearch.search(text, after == null ? 0 : after, page);
+        }
+        return items.stream()
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<ItemSuggestionDto> suggestItems(String prefix, Integer size) {
+        if (size <= 0) {
+            throw new BadRequestException("Параметр size должен быть положительным.");
+        }
+        if (prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+        return itemSuggestions.suggest(prefix, size);
+    }
+
     @Override
     public Map<ItemRequest, List<Item>> findAllItemsByRequestIds(List<Long> ids) {
         var itemsFromDb = itemRepository.findAllItemsByItemRequestIdIn(ids);
@@ -192,6 +201,7 @@ public class ItemServiceImpl implements ItemService {
                 throw new BadRequestException("Пользователь c userId - " + userId + " не брал вещь в аренду c itemId - " + itemId);
             }
         }
+        itemSummaryService.refresh(itemId);
         return commentMapper.toCommentDto(comment);
     }
 
@@ -199,4 +209,11 @@ public class ItemServiceImpl implements ItemService {
     public Boolean isUserHaveItems(Long userId) {
         return itemRepository.existsByOwnerId(userId);
     }
+
+    private Item saveItem(Item item) {
+        var saved = itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemSavedEvent(saved.getId(), saved.getName(), saved.getDescription(),
+                Boolean.TRUE.equals(saved.getAvailable())));
+        return saved;
+    }
 }
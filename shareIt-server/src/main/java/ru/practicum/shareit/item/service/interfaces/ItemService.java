@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.service.interfaces;
 
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -17,7 +18,9 @@ public interface ItemService {
 
     List<ItemDto> getUserItems(Long userId, Integer from, Integer size);
 
-    List<ItemDto> searchItemToRent(Long userId, String text, Integer from, Integer size);
+    List<ItemDto> searchItemToRent(Long userId, String text, Integer from, Integer size, Long after, String sort);
+
+    List<ItemSuggestionDto> suggestItems(String prefix, Integer size);
 
     Map<ItemRequest, List<Item>> findAllItemsByRequestIds(List<Long> requestIds);
 
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.summary;
+
+import java.time.LocalDateTime;
+
+public interface ItemBookingState {
+    Long getItemId();
+
+    Long getLastBookingId();
+
+    Long getLastBookerId();
+
+    Long getApprovedBookings();
+
+    LocalDateTime getNextStart();
+
+    LocalDateTime getNextEnd();
+}
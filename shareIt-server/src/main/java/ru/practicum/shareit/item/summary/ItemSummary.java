@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Денормализованная сводка по вещи: бронирования, число одобренных бронирований и последние комментарии.
+ * Последнее и следующее бронирование зависят от текущего времени, поэтому строка актуальна
+ * только до validUntil - ближайшего начала или конца бронирования вещи.
+ */
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "item_summary")
+@NoArgsConstructor
+public class ItemSummary {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    /**
+     * Последнее бронирование для карточки вещи: завершённое или уже начавшееся, с самым поздним концом.
+     */
+    private Long lastBookingId;
+
+    private Long lastBookerId;
+
+    /**
+     * Последнее бронирование для списка вещей владельца: самое раннее из завершённых.
+     */
+    private Long listLastBookingId;
+
+    private Long listLastBookerId;
+
+    private Long nextBookingId;
+
+    private Long nextBookerId;
+
+    private long approvedBookings;
+
+    private long commentCount;
+
+    /**
+     * Последние комментарии в JSON, от новых к старым.
+     */
+    private String latestComments;
+
+    private LocalDateTime validUntil;
+
+    public ItemSummary(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public boolean isValidAt(LocalDateTime time) {
+        return validUntil == null || validUntil.isAfter(time);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Полная перестройка item_summary при старте и периодический пересчёт сводок,
+ * у которых из-за наступившего начала или конца бронирования сменились последнее и следующее бронирование.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSummaryReconciler {
+    private static final int BATCH_SIZE = 500;
+
+    private final ItemSummaryService itemSummaryService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        int batches = 0;
+        Long lastId = 0L;
+        while ((lastId = itemSummaryService.rebuild(lastId, BATCH_SIZE)) != null) {
+            batches++;
+        }
+        log.info("Сводки вещей перестроены: пакетов {}, {} мс", batches, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item-summary.refresh-interval:PT1M}",
+            initialDelayString = "${shareit.item-summary.refresh-interval:PT1M}")
+    public void refreshStale() {
+        int refreshed = 0;
+        int batch;
+        do {
+            batch = itemSummaryService.refreshStale(BATCH_SIZE);
+            refreshed += batch;
+        } while (batch == BATCH_SIZE);
+        if (refreshed > 0) {
+            log.debug("Пересчитано устаревших сводок вещей: {}", refreshed);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.summary;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemSummaryRepository extends JpaRepository<ItemSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemSummary s where s.itemId = :itemId")
+    Optional<ItemSummary> findForUpdate(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemSummary s where s.itemId in :itemIds")
+    List<ItemSummary> findAllForUpdate(List<Long> itemIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemSummary s where s.validUntil <= :time order by s.itemId")
+    List<ItemSummary> findStaleForUpdate(LocalDateTime time, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemSummary s where s.itemId in "
+            + "(select c.item.id from Comment c where c.author.id = :authorId) order by s.itemId")
+    List<ItemSummary> findAllForUpdateByCommentAuthor(Long authorId);
+
+    /**
+     * Состояние бронирований вещей на момент now: последнее бронирование для карточки вещи,
+     * число одобренных бронирований и ближайшие начало и конец бронирования после now.
+     */
+    @Query(value = "select i.id as itemId, " +
+            " (select b.id from bookings b where b.item_id = i.id " +
+            "  and (b.end_date < :now or b.start_date < :now) and b.status <> 'REJECTED' " +
+            "  order by b.end_date desc limit 1) as lastBookingId, " +
+            " (select b.booker_id from bookings b where b.item_id = i.id " +
+            "  and (b.end_date < :now or b.start_date < :now) and b.status <> 'REJECTED' " +
+            "  order by b.end_date desc limit 1) as lastBookerId, " +
+            " (select count(*) from bookings b where b.item_id = i.id and b.status = 'APPROVED') as approvedBookings, " +
+            " (select min(b.start_date) from bookings b where b.item_id = i.id " +
+            "  and b.start_date > :now and b.status <> 'REJECTED') as nextStart, " +
+            " (select min(b.end_date) from bookings b where b.item_id = i.id " +
+            "  and b.end_date > :now and b.status <> 'REJECTED') as nextEnd " +
+            "from items i where i.id in (:itemIds)",
+            nativeQuery = true)
+    List<ItemBookingState> findBookingStates(List<Long> itemIds, LocalDateTime now);
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.item.summary;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.DAO.BookingRepository;
+import ru.practicum.shareit.booking.dto.ItemBookings;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.item.DAO.ItemRepository;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.service.LatestComments;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Чтение и пересчёт сводок item_summary. Запись пересчитывает строку вещи в той же транзакции,
+ * что и изменение бронирования или комментария; строка блокируется, поэтому параллельные изменения
+ * одной вещи применяются по очереди. Если строки нет или она устарела по времени, чтение
+ * пересчитывает сводку на лету, не сохраняя её - это делает ItemSummaryReconciler.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemSummaryService {
+    private static final TypeReference<List<CommentDto>> COMMENTS_TYPE = new TypeReference<>() {
+    };
+
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final LatestComments latestComments;
+    private final ObjectMapper objectMapper;
+
+    public Map<Long, ItemSummary> findByItemIds(List<Long> itemIds) {
+        var now = LocalDateTime.now();
+        var result = new HashMap<Long, ItemSummary>(itemIds.size() * 2);
+        for (ItemSummary summary : itemSummaryRepository.findAllById(itemIds)) {
+            if (summary.isValidAt(now)) {
+                result.put(summary.getItemId(), summary);
+            }
+        }
+        if (result.size() < itemIds.size()) {
+            var stale = itemIds.stream()
+                    .filter(itemId -> !result.containsKey(itemId))
+                    .map(ItemSummary::new)
+                    .collect(Collectors.toList());
+            compute(stale, now);
+            stale.forEach(summary -> result.put(summary.getItemId(), summary));
+        }
+        return result;
+    }
+
+    public List<CommentDto> readComments(ItemSummary summary) {
+        if (summary.getLatestComments() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(summary.getLatestComments(), COMMENTS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Transactional
+    public void create(Long itemId) {
+        itemSummaryRepository.save(new ItemSummary(itemId));
+    }
+
+    @Transactional
+    public void refresh(Long itemId) {
+        var summary = itemSummaryRepository.findForUpdate(itemId).orElseGet(() -> new ItemSummary(itemId));
+        compute(List.of(summary), LocalDateTime.now());
+        itemSummaryRepository.save(summary);
+    }
+
+    /**
+     * Пересчитывает сводки вещей с комментариями пользователя: имя автора хранится в latest_comments.
+     */
+    @Transactional
+    public void refreshCommentAuthor(Long authorId) {
+        var summaries = itemSummaryRepository.findAllForUpdateByCommentAuthor(authorId);
+        if (!summaries.isEmpty()) {
+            compute(summaries, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Пересчитывает устаревшие по времени сводки, не больше limit за вызов.
+     */
+    @Transactional
+    public int refreshStale(int limit) {
+        var now = LocalDateTime.now();
+        var stale = itemSummaryRepository.findStaleForUpdate(now, PageRequest.of(0, limit));
+        if (!stale.isEmpty()) {
+            compute(stale, now);
+        }
+        return stale.size();
+    }
+
+    /**
+     * Заново строит сводки вещей с id больше afterId, не больше limit за вызов.
+     * Возвращает id последней обработанной вещи или null, если вещей больше нет.
+     */
+    @Transactional
+    public Long rebuild(long afterId, int limit) {
+        var itemIds = itemRepository.findAllByIdGreaterThanOrderById(afterId, PageRequest.of(0, limit))
+                .stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        if (itemIds.isEmpty()) {
+            return null;
+        }
+        var summaries = itemSummaryRepository.findAllForUpdate(itemIds)
+                .stream()
+                .collect(Collectors.toMap(ItemSummary::getItemId, Function.identity()));
+        var targets = new ArrayList<ItemSummary>(itemIds.size());
+        for (Long itemId : itemIds) {
+            targets.add(summaries.computeIfAbsent(itemId, ItemSummary::new));
+        }
+        compute(targets, LocalDateTime.now());
+        itemSummaryRepository.saveAll(targets);
+        return itemIds.get(itemIds.size() - 1);
+    }
+
+    private void compute(List<ItemSummary> summaries, LocalDateTime now) {
+        var itemIds = summaries.stream().map(ItemSummary::getItemId).collect(Collectors.toList());
+        var states = itemSummaryRepository.findBookingStates(itemIds, now)
+                .stream()
+                .collect(Collectors.toMap(ItemBookingState::getItemId, Function.identity()));
+        var nearest = bookingRepository.findLastAndNextBookingsByItemIds(itemIds, now, Status.REJECTED.name())
+                .stream()
+                .collect(Collectors.toMap(ItemBookings::getItemId, Function.identity()));
+        var comments = latestComments.findByItemIds(itemIds);
+
+        for (ItemSummary summary : summaries) {
+            var state = states.get(summary.getItemId());
+            summary.setLastBookingId(state == null ? null : state.getLastBookingId());
+            summary.setLastBookerId(state == null ? null : state.getLastBookerId());
+            summary.setApprovedBookings(state == null ? 0 : state.getApprovedBookings());
+            summary.setValidUntil(state == null ? null : earliest(state.getNextStart(), state.getNextEnd()));
+
+            var bookings = nearest.get(summary.getItemId());
+            summary.setListLastBookingId(bookings == null ? null : bookings.getLastBookingId());
+            summary.setListLastBookerId(bookings == null ? null : bookings.getLastBookerId());
+            summary.setNextBookingId(bookings == null ? null : bookings.getNextBookingId());
+            summary.setNextBookerId(bookings == null ? null : bookings.getNextBookerId());
+
+            var itemComments = comments.get(summary.getItemId());
+            summary.setCommentCount(itemComments == null ? 0 : itemComments.total());
+            summary.setLatestComments(itemComments == null ? null : writeComments(itemComments.comments()));
+        }
+    }
+
+    private String writeComments(List<CommentDto> comments) {
+        try {
+            return objectMapper.writeValueAsString(comments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return first.isBefore(second) ? first : second;
+    }
+}
@@ -45,14 +45,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> getAllRequestsByUser(Long userId) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         var itemRequests = itemRequestRepository.findAllRequestsByRequesterIdOrderByCreatedDesc(userId);
         return getAllRequestsWithItems(itemRequests);
     }
 
     @Override
     public List<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         Pageable page = PaginationServiceClass.pagination(from, size);
         var itemRequests = itemRequestRepository.findByRequesterIdNotOrderByCreatedDesc(userId, page);
         return getAllRequestsWithItems(itemRequests);
@@ -60,7 +60,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestDto getRequestById(Long userId, Long requestId) {
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         var itemRequest = itemRequestRepository.findById(requestId).orElseThrow(
                 () -> new NotFoundException("Запрос с id = " + requestId + " отсутствует."));
         var itemRequestDto = itemRequestMapper.toItemRequestDto(itemRequest);
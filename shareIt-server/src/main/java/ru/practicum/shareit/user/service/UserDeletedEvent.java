@@ -0,0 +1,7 @@
+package ru.practicum.shareit.user.service;
+
+/**
+ * Публикуется при удалении пользователя. Слушатели получают его после фиксации транзакции.
+ */
+public record UserDeletedEvent(Long id) {
+}
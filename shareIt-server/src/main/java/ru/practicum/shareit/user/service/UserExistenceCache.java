@@ -0,0 +1,130 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш id пользователей для проверки существования в начале запросов.
+ * Известные id хранятся ttl, вытесняются по LRU и удаляются после фиксации удаления пользователя;
+ * ttl ограничивает устаревание, когда пользователя удалил другой экземпляр сервера.
+ * Отсутствующие id хранятся negativeTtl и сбрасываются при создании пользователя;
+ * при нулевом negativeTtl не хранятся.
+ */
+public class UserExistenceCache implements MeterBinder {
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Clock clock;
+    private final Map<Long, Long> existing;
+    private final Map<Long, Long> missing;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public UserExistenceCache(int maxEntries, Duration ttl, Duration negativeTtl) {
+        this(maxEntries, ttl, negativeTtl, Clock.systemUTC());
+    }
+
+    UserExistenceCache(int maxEntries, Duration ttl, Duration negativeTtl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.clock = clock;
+        this.existing = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > UserExistenceCache.this.maxEntries;
+            }
+        };
+        this.missing = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > UserExistenceCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * TRUE - пользователь есть, FALSE - недавно не был найден, null - нужно проверить в базе.
+     */
+    public synchronized Boolean lookup(Long userId) {
+        var now = clock.millis();
+        var existsUntil = existing.get(userId);
+        if (existsUntil != null) {
+            if (existsUntil > now) {
+                hits.incrementAndGet();
+                return Boolean.TRUE;
+            }
+            existing.remove(userId);
+        }
+        var expiresAt = missing.get(userId);
+        if (expiresAt != null) {
+            if (expiresAt > now) {
+                negativeHits.incrementAndGet();
+                return Boolean.FALSE;
+            }
+            missing.remove(userId);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public synchronized void putExisting(Long userId) {
+        if (maxEntries > 0 && ttlMillis > 0) {
+            missing.remove(userId);
+            existing.put(userId, clock.millis() + ttlMillis);
+        }
+    }
+
+    public synchronized void putMissing(Long userId) {
+        if (maxEntries > 0 && negativeTtlMillis > 0) {
+            existing.remove(userId);
+            missing.put(userId, clock.millis() + negativeTtlMillis);
+        }
+    }
+
+    public synchronized void evict(Long userId) {
+        existing.remove(userId);
+        missing.remove(userId);
+    }
+
+    /**
+     * Вызывается после фиксации удаления: проверка, начатая до неё, иначе вернула бы id в кэш.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        evict(event.id());
+    }
+
+    public synchronized int size() {
+        return existing.size() + missing.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.users.existence.cache.size", this, UserExistenceCache::size)
+                .description("Записи в кэше существования пользователей")
+                .register(registry);
+        FunctionCounter.builder("shareit.users.existence.checks", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Проверки существования пользователя без запроса к базе")
+                .register(registry);
+        FunctionCounter.builder("shareit.users.existence.checks", negativeHits, AtomicLong::get)
+                .tag("result", "negative_hit")
+                .description("Проверки, отклонённые по кэшу отсутствующих пользователей без запроса к базе")
+                .register(registry);
+        FunctionCounter.builder("shareit.users.existence.checks", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Проверки существования пользователя с запросом к базе")
+                .register(registry);
+    }
+}
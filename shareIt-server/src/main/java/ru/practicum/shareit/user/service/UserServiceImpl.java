@@ -1,14 +1,18 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.DAO.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.interfaces.UserService;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,24 +20,50 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserExistenceCache userExistenceCache;
+    private final ItemSummaryService itemSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserDto addUser(UserDto userDto) {
         var user = userMapper.toUser(userDto);
         var createdUser = userRepository.save(user);
         userDto.setId(createdUser.getId());
+        userExistenceCache.putExisting(createdUser.getId());
         return userDto;
     }
 
     public UserDto updateUser(Long userId, UserDto userDto) {
         var user = userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException("Пользователь с таким id: " + userId + ", отсутствует."));
+        var oldName = user.getName();
         userMapper.updateUserFromUserDto(userDto, user);
-        return userMapper.toUserDto(userRepository.save(user));
+        var updatedUser = userMapper.toUserDto(userRepository.save(user));
+        if (!Objects.equals(oldName, updatedUser.getName())) {
+            itemSummaryService.refreshCommentAuthor(userId);
+        }
+        return updatedUser;
     }
 
+    @Transactional
     public void deleteUserById(Long userId) {
-        getUserById(userId);
+        checkUserExists(userId);
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId));
+    }
+
+    public void checkUserExists(Long userId) {
+        var cached = userExistenceCache.lookup(userId);
+        if (cached == null) {
+            cached = userRepository.existsById(userId);
+            if (cached) {
+                userExistenceCache.putExisting(userId);
+            } else {
+                userExistenceCache.putMissing(userId);
+            }
+        }
+        if (!cached) {
+            throw new NotFoundException("Пользователь с таким id: " + userId + ", отсутствует.");
+        }
     }
 
     public UserDto getUserById(Long userId) {
@@ -14,5 +14,10 @@ public interface UserService {
 
     UserDto getUserById(Long userId);
 
+    /**
+     * Проверяет, что пользователь существует, без загрузки его данных.
+     */
+    void checkUserExists(Long userId);
+
     List<UserDto> getAllUsers();
 }
@@ -0,0 +1,2 @@
+-- Слова текста для ранжирования поиска вещей, см. SearchTokens и ItemRepository.searchItemToRentByRelevance.
+CREATE ALIAS IF NOT EXISTS search_tokens DETERMINISTIC FOR 'ru.practicum.shareit.item.search.SearchTokens.tokens';
@@ -0,0 +1,12 @@
+-- Триграммные GIN-индексы для поиска вещей: upper(name|description) LIKE '%text%'
+-- из ItemRepository.searchItemToRent выполняется по индексу, а не полным сканированием items.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING gin (upper(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING gin (upper(description) gin_trgm_ops);
+
+-- Слова текста для ранжирования поиска вещей: то же, что SearchTokens.tokens в H2.
+CREATE OR REPLACE FUNCTION search_tokens(text) RETURNS text
+    LANGUAGE sql IMMUTABLE STRICT
+    AS 'select regexp_replace('' '' || upper($1) || '' '', ''[^[:alnum:]]+'', '' '', ''g'')';
@@ -1,4 +1,4 @@
-DROP TABLE IF EXISTS users, requests, items, bookings, comments cascade;
+DROP TABLE IF EXISTS users, requests, items, bookings, comments, item_summary, idempotency_keys cascade;
 
 CREATE TABLE IF NOT EXISTS users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -41,6 +41,12 @@ CREATE TABLE IF NOT EXISTS bookings (
     CONSTRAINT bookings_users_fk FOREIGN KEY (booker_id) REFERENCES users(id)
 );
 
+CREATE INDEX IF NOT EXISTS bookings_item_status_idx ON bookings (item_id, status);
+
+CREATE INDEX IF NOT EXISTS bookings_item_end_idx ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date);
+
 CREATE TABLE IF NOT EXISTS comments (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   text VARCHAR(1000) NOT NULL,
@@ -50,4 +56,38 @@ CREATE TABLE IF NOT EXISTS comments (
   CONSTRAINT pk_comment PRIMARY KEY (id),
   CONSTRAINT comments_items_fk FOREIGN KEY (item_id) REFERENCES items(id),
   CONSTRAINT comments_users_fk FOREIGN KEY (author_id) REFERENCES users(id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS comments_item_created_idx ON comments (item_id, created_date);
+
+CREATE TABLE IF NOT EXISTS item_summary (
+  item_id BIGINT NOT NULL,
+  last_booking_id BIGINT,
+  last_booker_id BIGINT,
+  list_last_booking_id BIGINT,
+  list_last_booker_id BIGINT,
+  next_booking_id BIGINT,
+  next_booker_id BIGINT,
+  approved_bookings BIGINT NOT NULL,
+  comment_count BIGINT NOT NULL,
+  latest_comments VARCHAR,
+  valid_until TIMESTAMP WITHOUT TIME ZONE,
+  CONSTRAINT pk_item_summary PRIMARY KEY (item_id),
+  CONSTRAINT item_summary_items_fk FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS item_summary_valid_until_idx ON item_summary (valid_until);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+  user_id BIGINT NOT NULL,
+  path VARCHAR(255) NOT NULL,
+  idempotency_key VARCHAR(255) NOT NULL,
+  request_hash VARCHAR(64) NOT NULL,
+  status INTEGER,
+  content_type VARCHAR(255),
+  body BYTEA,
+  created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_idempotency_keys PRIMARY KEY (user_id, path, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idempotency_keys_created_idx ON idempotency_keys (created_at);
\ No newline at end of file
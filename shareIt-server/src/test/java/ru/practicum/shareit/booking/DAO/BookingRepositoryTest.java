@@ -3,7 +3,6 @@ package ru.practicum.shareit.booking.DAO;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.DAO.ItemRepository;
@@ -12,6 +11,7 @@ import ru.practicum.shareit.user.DAO.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,48 +29,61 @@ class BookingRepositoryTest {
 
 
     @Test
-    void findLastBookingByItemIdEmpty() {
-        var bookings = bookingRepository.findLastBookingByItemId(1L, LocalDateTime.now(), Status.REJECTED, Pageable.ofSize(1));
-        assertTrue(bookings.isEmpty());
+    void findAccessById_whenBookingExists_thenReturnBookerOwnerAndStatus() {
+        var owner = userRepository.save(new User(null, "owner", "owner@ya.ru"));
+        var booker = userRepository.save(new User(null, "booker", "booker@ya.ru"));
+        var item = itemRepository.save(new Item(null, "Spoon", "description", true, owner, null));
+        var booking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusHours(1),
+                LocalDateTime.now().plusHours(2), Status.WAITING, booker, item));
+
+        var access = bookingRepository.findAccessById(booking.getId()).orElseThrow();
+
+        assertEquals(booker.getId(), access.getBookerId());
+        assertEquals(owner.getId(), access.getOwnerId());
+        assertEquals(item.getId(), access.getItemId());
+        assertEquals(Status.WAITING, access.getStatus());
+        assertTrue(bookingRepository.findAccessById(booking.getId() + 1).isEmpty());
     }
 
-    @Test
-    void findLastBookingByItemId_whenDataValid_thenReturnBookingCorrect() {
-        var user = new User(null, "name", "name@ya.ru");
-        var booker = new User(null, "booker", "booker@ya.ru");
-        var bookerCreated = userRepository.save(booker);
-        var userCreated = userRepository.save(user);
-        var item = new Item(null, "Spoon", "description", true, userCreated, null);
-        var itemCreated = itemRepository.save(item);
-        var booking = new Booking(null, LocalDateTime.now().minusHours(2), LocalDateTime.now().minusHours(1), Status.APPROVED, bookerCreated, itemCreated);
-        var bookingCreated = bookingRepository.save(booking);
-
-        var bookings = bookingRepository.findLastBookingByItemId(itemCreated.getId(), LocalDateTime.now(), Status.REJECTED, Pageable.ofSize(1));
-
-        assertEquals(bookingCreated.getStart(), bookings.get(0).getStart());
-        assertEquals(bookingCreated.getId(), bookings.get(0).getId());
-    }
 
     @Test
-    void findFutureBookingByItemIdEmpty() {
-        var bookings = bookingRepository.findFutureBookingByItemId(1L, LocalDateTime.now().plusHours(1), Status.REJECTED, Pageable.ofSize(1));
-        assertTrue(bookings.isEmpty());
+    void findLastAndNextBookingsByItemIds_whenManyBookings_thenReturnOneRowPerItem() {
+        var owner = userRepository.save(new User(null, "name", "name@ya.ru"));
+        var booker = userRepository.save(new User(null, "booker", "booker@ya.ru"));
+        var item = itemRepository.save(new Item(null, "Spoon", "description", true, owner, null));
+        var emptyItem = itemRepository.save(new Item(null, "Fork", "description", true, owner, null));
+        var now = LocalDateTime.now();
+        var last = bookingRepository.save(new Booking(null, now.minusHours(4), now.minusHours(3), Status.APPROVED, booker, item));
+        bookingRepository.save(new Booking(null, now.minusHours(2), now.minusHours(1), Status.APPROVED, booker, item));
+        bookingRepository.save(new Booking(null, now.minusHours(6), now.minusHours(5), Status.REJECTED, booker, item));
+        var next = bookingRepository.save(new Booking(null, now.plusHours(1), now.plusHours(2), Status.WAITING, booker, item));
+        bookingRepository.save(new Booking(null, now.plusHours(3), now.plusHours(4), Status.APPROVED, booker, item));
+
+        var rows = bookingRepository.findLastAndNextBookingsByItemIds(List.of(item.getId(), emptyItem.getId()), now, Status.REJECTED.name());
+
+        assertEquals(1, rows.size());
+        assertEquals(item.getId(), rows.get(0).getItemId());
+        assertEquals(last.getId(), rows.get(0).getLastBookingId());
+        assertEquals(booker.getId(), rows.get(0).getLastBookerId());
+        assertEquals(next.getId(), rows.get(0).getNextBookingId());
+        assertEquals(booker.getId(), rows.get(0).getNextBookerId());
     }
 
     @Test
-    void findFutureBookingByItemId_whenDataValid_thenReturnBookingCorrect() {
-        var user = new User(null, "name", "name@ya.ru");
-        var booker = new User(null, "booker", "booker@ya.ru");
-        var bookerCreated = userRepository.save(booker);
-        var userCreated = userRepository.save(user);
-        var item = new Item(null, "Spoon", "description", true, userCreated, null);
-        var itemCreated = itemRepository.save(item);
-        var booking = new Booking(null, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2), Status.APPROVED, bookerCreated, itemCreated);
-        var bookingCreated = bookingRepository.save(booking);
-
-        var bookings = bookingRepository.findFutureBookingByItemId(itemCreated.getId(), LocalDateTime.now(), Status.REJECTED, Pageable.ofSize(1));
-
-        assertEquals(bookingCreated.getStart(), bookings.get(0).getStart());
-        assertEquals(bookingCreated.getId(), bookings.get(0).getId());
+    void findLastAndNextBookingsByItemIds_whenOnlyFutureBookings_thenLastIsNull() {
+        var owner = userRepository.save(new User(null, "name", "name@ya.ru"));
+        var booker = userRepository.save(new User(null, "booker", "booker@ya.ru"));
+        var item = itemRepository.save(new Item(null, "Spoon", "description", true, owner, null));
+        var now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.plusHours(3), now.plusHours(4), Status.APPROVED, booker, item));
+        var next = bookingRepository.save(new Booking(null, now.plusHours(1), now.plusHours(2), Status.APPROVED, booker, item));
+        bookingRepository.save(new Booking(null, now.plusMinutes(30), now.plusHours(5), Status.REJECTED, booker, item));
+
+        var rows = bookingRepository.findLastAndNextBookingsByItemIds(List.of(item.getId()), now, Status.REJECTED.name());
+
+        assertEquals(1, rows.size());
+        assertNull(rows.get(0).getLastBookingId());
+        assertNull(rows.get(0).getLastBookerId());
+        assertEquals(next.getId(), rows.get(0).getNextBookingId());
     }
-}
\ No newline at end of file
+}
@@ -5,8 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.DAO.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingAccess;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingMapperImpl;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
@@ -15,6 +17,7 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.dto.UserMapperImpl;
@@ -24,14 +27,10 @@ import ru.practicum.shareit.user.service.interfaces.UserService;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -51,6 +50,12 @@ class BookingServiceImplTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ItemSummaryService itemSummaryService;
+
     private final BookingMapper bookingMapper = new BookingMapperImpl();
 
     private final UserMapper userMapper = new UserMapperImpl();
@@ -63,7 +68,7 @@ class BookingServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        bookingService = new BookingServiceImpl(bookingRepository, userService, bookingMapper, userMapper);
+        bookingService = new BookingServiceImpl(bookingRepository, userService, bookingMapper, userMapper, eventPublisher, itemSummaryService);
         booker = new User(1L, "booker", "booker@ya.ru");
         owner = new User(2L, "owner", "owner@ya.ru");
         item = new Item(1L, "Spoon", "description", true, owner, null);
@@ -110,7 +115,7 @@ class BookingServiceImplTest {
 
     @Test
     void managingBookingStatus_whenBookingNotFound_thenThrowNotFoundException() {
-        when(bookingRepository.findById(any())).thenReturn(Optional.empty());
+        when(bookingRepository.findAccessById(any())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.managingBookingStatus(1L, 1L, true));
         verify(bookingRepository, never()).save(any(Booking.class));
@@ -118,7 +123,7 @@ class BookingServiceImplTest {
 
     @Test
     void managingBookingStatus_whenUserNotOwner_thenThrowBadRequestException() {
-        when(bookingRepository.findById(any())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findAccessById(eq(booking.getId()))).thenReturn(Optional.of(createBookingAccess(booking)));
 
         Throwable e = assertThrows(BadRequestException.class, () ->
                 bookingService.managingBookingStatus(booking.getId(), booker.getId(), true));
@@ -130,7 +135,7 @@ class BookingServiceImplTest {
 
     @Test
     void managingBookingStatus_whenStatusNotWaiting_thenThrowBadRequestException() {
-        when(bookingRepository.findById(any())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findAccessById(eq(booking.getId()))).thenReturn(Optional.of(createBookingAccess(booking)));
         booking.setStatus(Status.APPROVED);
 
         Throwable e = assertThrows(BadRequestException.class, () ->
@@ -142,7 +147,8 @@ class BookingServiceImplTest {
 
     @Test
     void managingBookingStatus_whenApprovedTrue_thenStatusApproved() {
-        when(bookingRepository.findById(any())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findAccessById(eq(booking.getId()))).thenReturn(Optional.of(createBookingAccess(booking)));
+        when(bookingRepository.findWithBookerAndItemById(eq(booking.getId()))).thenReturn(Optional.of(booking));
 
         var savedBooking = bookingService.managingBookingStatus(booking.getId(), owner.getId(), true);
         assertEquals(Status.APPROVED, savedBooking.getStatus());
@@ -152,7 +158,8 @@ class BookingServiceImplTest {
 
     @Test
     void managingBookingStatus_whenApprovedFalse_thenStatusRejected() {
-        when(bookingRepository.findById(any())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findAccessById(eq(booking.getId()))).thenReturn(Optional.of(createBookingAccess(booking)));
+        when(bookingRepository.findWithBookerAndItemById(eq(booking.getId()))).thenReturn(Optional.of(booking));
 
         var savedBooking = bookingService.managingBookingStatus(booking.getId(), owner.getId(), false);
         assertEquals(Status.REJECTED, savedBooking.getStatus());
@@ -162,8 +169,7 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingById_whenBookingNotFound_thenThrowNotFoundException() {
-        when(userService.getUserById(any())).thenReturn(new UserDto());
-        when(bookingRepository.findById(any())).thenReturn(Optional.empty());
+        when(bookingRepository.findAccessById(any())).thenReturn(Optional.empty());
 
         Throwable e = assertThrows(NotFoundException.class, () ->
                 bookingService.getBookingById(booker.getId(), booking.getId()));
@@ -172,8 +178,7 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingById_whenUserNotOwnerOrNorBooker_thenThrowNotFoundException() {
-        when(userService.getUserById(any())).thenReturn(new UserDto());
-        when(bookingRepository.findById(any())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findAccessById(eq(booking.getId()))).thenReturn(Optional.of(createBookingAccess(booking)));
         var user = new User();
         user.setId(5L);
 
@@ -185,8 +190,8 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingById_whenUserIdValid_thenReturnBookingDto() {
-        when(userService.getUserById(any())).thenReturn(new UserDto());
-        when(bookingRepository.findById(any())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findAccessById(eq(booking.getId()))).thenReturn(Optional.of(createBookingAccess(booking)));
+        when(bookingRepository.findWithBookerAndItemById(eq(booking.getId()))).thenReturn(Optional.of(booking));
 
         var actualBookingDto = bookingService.getBookingById(owner.getId(), booking.getId());
         assertNotNull(actualBookingDto);
@@ -204,7 +209,6 @@ class BookingServiceImplTest {
 
     @Test
     void getAllBookingsOfUser_whenStateALL_thenReturnAllBookings() {
-        when(userService.getUserById(any())).thenReturn(new UserDto());
         when(bookingRepository.findAllBookingsByBookerIdOrderByStartDesc(any(), any(Pageable.class))).thenReturn(List.of(booking));
 
         var allBookings = bookingService.getAllBookingsOfUser(owner.getId(), "ALL", 0, 10);
@@ -215,7 +219,6 @@ class BookingServiceImplTest {
 
     @Test
     void getAllBookingsOfUser_whenStateCURRENT_thenReturnCurrentBookings() {
-        when(userService.getUserById(any())).thenReturn(new UserDto());
         when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(any(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(booking));
         var currentBookings = bookingService.getAllBookingsOfUser(owner.getId(), "CURRENT", 0, 10);
 
@@ -225,7 +228,6 @@ class BookingServiceImplTest {
 
     @Test
     void getAllBookingsOfUser_whenStatePAST_thenReturnPastBookings() {
-        when(userService.getUserById(any())).thenReturn(new UserDto());
         when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(any(), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(booking));
         var pastBookings = bookingService.getAllBookingsOfUser(owner.getId(), "PAST", 0, 10);
 
@@ -237,7 +239,6 @@ class BookingServiceImplTest {
     void getAllBookingsOfUser_whenStateFUTURE_thenReturnFutureBookings() {
 
 
-        when(userService.getUserById(any())).thenReturn(new UserDto());
         when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(any(), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(booking));
         var futureBookings = bookingService.getAllBookingsOfUser(owner.getId(), "FUTURE", 0, 10);
 
@@ -247,7 +248,6 @@ class BookingServiceImplTest {
 
     @Test
     void getAllBookingsOfUser_whenStateWAITING_thenReturnWaitingBookings() {
-        when(userService.getUserById(any())).thenReturn(new UserDto());
         when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(any(), any(Status.class), any(Pageable.class))).thenReturn(List.of(booking));
 
         var waitingBookings = bookingService.getAllBookingsOfUser(owner.getId(), "WAITING", 0, 10);
@@ -258,7 +258,6 @@ class BookingServiceImplTest {
 
     @Test
     void getAllBookingsOfUser_whenStateREJECTED_thenReturnRejectedBookings() {
-        when(userService.getUserById(any())).thenReturn(new UserDto());
         when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(any(), any(Status.class), any(Pageable.class))).thenReturn(List.of(booking));
 
         var rejectedBookings = bookingService.getAllBookingsOfUser(owner.getId(), "REJECTED", 0, 10);
@@ -330,39 +329,27 @@ class BookingServiceImplTest {
         verify(bookingRepository).findAllBookingsByItemOwnerIdAndStatusOrderByStartDesc(any(), any(Status.class), any(Pageable.class));
     }
 
-    @Test
-    void findLastBookingByItemId() {
-        when(bookingRepository.findLastBookingByItemId(any(), any(LocalDateTime.class), any(Status.class), any(Pageable.class))).thenReturn(List.of(booking));
-        var shortDto = bookingMapper.toListShortBooking(List.of(booking));
-        var result = bookingService.findLastBookingByItemId(item.getId());
-
-        assertTrue(result.isPresent());
-        assertEquals(shortDto.get(0).getId(), result.get().getId());
-
-        verify(bookingRepository).findLastBookingByItemId(any(), any(LocalDateTime.class), any(Status.class), any(Pageable.class));
-    }
-
-    @Test
-    void findFutureBookingByItemId() {
-        when(bookingRepository.findFutureBookingByItemId(any(), any(LocalDateTime.class), any(Status.class), any(Pageable.class))).thenReturn(List.of(booking));
-        var shortDto = bookingMapper.toListShortBooking(List.of(booking));
-        var result = bookingService.findFutureBookingByItemId(item.getId());
-
-        assertTrue(result.isPresent());
-        assertEquals(shortDto.get(0).getId(), result.get().getId());
-
-        verify(bookingRepository).findFutureBookingByItemId(any(), any(LocalDateTime.class), any(Status.class), any(Pageable.class));
-
-    }
-
-    @Test
-    void findAllBookingsByItemIds() {
-        var itemIds = List.of(1L, 2L, 3L);
-        when(bookingRepository.findAllBookingsByItemIdInAndStatusNotOrderByStartDesc(any(List.class), any(Status.class))).thenReturn(List.of(booking));
-        var bookingMap = Stream.of(booking).collect(Collectors.groupingBy(Booking::getItem));
-        var result = bookingService.findAllBookingsByItemIds(itemIds);
-
-        assertFalse(result.isEmpty());
-        assertEquals(bookingMap.get(item), result.get(item));
+    private BookingAccess createBookingAccess(Booking booking) {
+        return new BookingAccess() {
+            @Override
+            public Long getBookerId() {
+                return booking.getBooker().getId();
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return booking.getItem().getOwner().getId();
+            }
+
+            @Override
+            public Long getItemId() {
+                return booking.getItem().getId();
+            }
+
+            @Override
+            public Status getStatus() {
+                return booking.getStatus();
+            }
+        };
     }
-}
\ No newline at end of file
+}
@@ -44,9 +44,6 @@ class ItemBookingValidationServiceTest {
 
     @Test
     void isUserHaveItems() {
-        var user = new UserDto();
-
-        when(userService.getUserById(any())).thenReturn(user);
         when(itemService.isUserHaveItems(any())).thenReturn(true);
         service.isUserHaveItems(any());
 
@@ -58,10 +55,7 @@ class ItemBookingValidationServiceTest {
         var item = new Item();
         item.setId(1L);
         item.setAvailable(false);
-        var user = new UserDto();
-        user.setId(2L);
 
-        when(userService.getUserById(2L)).thenReturn(user);
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
 
         assertThrows(BadRequestException.class, () -> service.isItemAvailable(1L, 2L));
@@ -80,7 +74,6 @@ class ItemBookingValidationServiceTest {
         var user = new UserDto();
         user.setId(2L);
 
-        when(userService.getUserById(2L)).thenReturn(user);
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
 
         var result = service.isItemAvailable(item.getId(), user.getId());
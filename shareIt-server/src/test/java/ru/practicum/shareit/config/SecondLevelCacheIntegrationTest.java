@@ -0,0 +1,96 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.DAO.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.DAO.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "shareit.second-level-cache.enabled=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class SecondLevelCacheIntegrationTest {
+
+    private final UserRepository userRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void findById_whenLoadedBefore_thenServedFromCache() {
+        var user = userRepository.save(new User(null, "user", "user@ya.ru"));
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        userRepository.findById(user.getId()).orElseThrow();
+        userRepository.findById(user.getId()).orElseThrow();
+        userRepository.findById(user.getId()).orElseThrow();
+
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+        assertEquals(2, meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "users", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void getOwner_whenOwnerCached_thenProxyInitializedFromCache() {
+        var owner = userRepository.save(new User(null, "owner", "owner@ya.ru"));
+        var item = itemRepository.save(new Item(null, "Spoon", "description", true, owner, null));
+        itemRepository.findById(item.getId()).orElseThrow();
+        userRepository.findById(owner.getId()).orElseThrow();
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var ownerName = transactionTemplate.execute(status ->
+                itemRepository.findById(item.getId()).orElseThrow().getOwner().getName());
+
+        assertEquals("owner", ownerName);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void save_whenEntityUpdated_thenCacheHoldsNewState() {
+        var user = userRepository.save(new User(null, "user", "user@ya.ru"));
+        userRepository.findById(user.getId()).orElseThrow();
+
+        user.setName("updated");
+        userRepository.save(user);
+
+        assertEquals("updated", userRepository.findById(user.getId()).orElseThrow().getName());
+        assertEquals("updated", transactionTemplate.execute(status ->
+                userRepository.findById(user.getId()).orElseThrow().getName()));
+    }
+
+    @Test
+    void deleteById_whenEntityCached_thenEvicted() {
+        var user = userRepository.save(new User(null, "user", "user@ya.ru"));
+        userRepository.findById(user.getId()).orElseThrow();
+        var cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(User.class, user.getId()));
+
+        userRepository.deleteById(user.getId());
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+        assertEquals(0, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,242 @@
+package ru.practicum.shareit.idempotency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.constants.Constant;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IdempotencyFilterTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("classpath:schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        filter = new IdempotencyFilter(new IdempotencyStore(jdbcTemplate, Duration.ofHours(1), Duration.ofMinutes(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void doFilter_whenSameKeyRepeated_thenStoredResponseReplayedWithoutExecution() throws Exception {
+        var first = perform("key-1", 201);
+        var second = perform("key-1", 201);
+
+        assertEquals(1, calls.get());
+        assertEquals(201, second.getStatus());
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertEquals("true", second.getHeader(Constant.HEADER_IDEMPOTENT_REPLAYED));
+        assertNull(first.getHeader(Constant.HEADER_IDEMPOTENT_REPLAYED));
+    }
+
+    @Test
+    void doFilter_whenDifferentKeys_thenEachExecuted() throws Exception {
+        perform("key-1", 201);
+        perform("key-2", 201);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doFilter_whenServerError_thenKeyReleased() throws Exception {
+        perform("key-1", 500);
+        var retry = perform("key-1", 201);
+
+        assertEquals(2, calls.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    @Test
+    void doFilter_whenFirstRequestInProgress_thenConflict() throws Exception {
+        var nested = new MockHttpServletResponse[1];
+        FilterChain chain = (request, response) -> {
+            calls.incrementAndGet();
+            nested[0] = new MockHttpServletResponse();
+            filter.doFilter(postRequest("key-1"), nested[0], (req, res) -> calls.incrementAndGet());
+        };
+        filter.doFilter(postRequest("key-1"), new MockHttpServletResponse(), chain);
+
+        assertEquals(1, calls.get());
+        assertEquals(409, nested[0].getStatus());
+    }
+
+    @Test
+    void doFilter_whenRetryReachesAnotherInstance_thenStoredResponseReplayed() throws Exception {
+        var otherInstance = new IdempotencyFilter(new IdempotencyStore(jdbcTemplate, Duration.ofHours(1), Duration.ofMinutes(1)));
+        filter.doFilter(postRequest("key-1"), new MockHttpServletResponse(), this::respond);
+
+        var retry = new MockHttpServletResponse();
+        otherInstance.doFilter(postRequest("key-1"), retry, this::respond);
+
+        assertEquals(1, calls.get());
+        assertEquals("true", retry.getHeader(Constant.HEADER_IDEMPOTENT_REPLAYED));
+    }
+
+    @Test
+    void doFilter_whenSameKeyWithDifferentBody_thenUnprocessableEntity() throws Exception {
+        filter.doFilter(postRequest("key-1"), new MockHttpServletResponse(), this::respond);
+        var request = postRequest("key-1");
+        request.setContent("{\"itemId\":2}".getBytes(StandardCharsets.UTF_8));
+
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, this::respond);
+
+        assertEquals(1, calls.get());
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void doFilter_whenBodyReadByChain_thenSameBodyAvailable() throws Exception {
+        var body = new String[1];
+        filter.doFilter(postRequest("key-1"), new MockHttpServletResponse(), (request, response) ->
+                body[0] = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+        assertEquals("{\"itemId\":1}", body[0]);
+    }
+
+    @Test
+    void doFilter_whenKeyExpired_thenExecutedAgain() throws Exception {
+        var clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        var expiringFilter = new IdempotencyFilter(new IdempotencyStore(jdbcTemplate, Duration.ofHours(1), Duration.ofMinutes(1), clock));
+        expiringFilter.doFilter(postRequest("key-1"), new MockHttpServletResponse(), this::respond);
+        clock.advance(Duration.ofHours(2));
+
+        var retry = new MockHttpServletResponse();
+        expiringFilter.doFilter(postRequest("key-1"), retry, this::respond);
+
+        assertEquals(2, calls.get());
+        assertNull(retry.getHeader(Constant.HEADER_IDEMPOTENT_REPLAYED));
+    }
+
+    @Test
+    void doFilter_whenInProgressClaimOutlivesLease_thenRetryTakesOver() throws Exception {
+        var clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        var store = new IdempotencyStore(jdbcTemplate, Duration.ofHours(1), Duration.ofMinutes(1), clock);
+        var leasedFilter = new IdempotencyFilter(store);
+        store.claim(1L, "/bookings", "key-1", new CachedBodyRequest(postRequest("key-1")).bodyHash());
+
+        var early = new MockHttpServletResponse();
+        leasedFilter.doFilter(postRequest("key-1"), early, this::respond);
+        clock.advance(Duration.ofMinutes(2));
+        var retry = new MockHttpServletResponse();
+        leasedFilter.doFilter(postRequest("key-1"), retry, this::respond);
+
+        assertEquals(409, early.getStatus());
+        assertEquals(1, calls.get());
+        assertEquals(200, retry.getStatus());
+        assertNull(retry.getHeader(Constant.HEADER_IDEMPOTENT_REPLAYED));
+    }
+
+    @Test
+    void doFilter_whenChainReadsBodyAsynchronously_thenListenerGetsWholeBody() throws Exception {
+        var events = new ArrayList<String>();
+        filter.doFilter(postRequest("key-1"), new MockHttpServletResponse(), (request, response) -> {
+            var input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+        });
+
+        assertEquals(List.of("{\"itemId\":1}", "done"), events);
+    }
+
+    private MockHttpServletResponse perform(String key, int status) throws ServletException, IOException {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(postRequest(key), response, (req, res) -> {
+            calls.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(status);
+            res.setContentType("application/json");
+            res.getWriter().write("{\"id\":" + calls.get() + "}");
+        });
+        return response;
+    }
+
+    private void respond(ServletRequest request, ServletResponse response) throws IOException {
+        calls.incrementAndGet();
+        response.getWriter().write("{}");
+    }
+
+    private static MockHttpServletRequest postRequest(String key) {
+        var request = new MockHttpServletRequest("POST", "/bookings");
+        request.addHeader(Constant.HEADER_USER_ID, "1");
+        request.addHeader(Constant.HEADER_IDEMPOTENCY_KEY, key);
+        request.setContent("{\"itemId\":1}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
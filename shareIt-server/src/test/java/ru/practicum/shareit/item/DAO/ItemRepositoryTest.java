@@ -4,10 +4,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.DAO.BookingRepository;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.DAO.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -19,12 +25,25 @@ class ItemRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
     @Test
     void searchItemToRentEmpty() {
-        var items = itemRepository.searchItemToRent("", Pageable.ofSize(1));
+        var items = itemRepository.searchItemToRent("", 0L, Pageable.ofSize(1));
         assertTrue(items.isEmpty());
     }
 
+    @Test
+    void existsByIdAndOwnerId_whenUserIsOwner_thenTrue() {
+        var owner = userRepository.save(new User(null, "owner", "owner@ya.ru"));
+        var user = userRepository.save(new User(null, "user", "user@ya.ru"));
+        var item = itemRepository.save(new Item(null, "Spoon", "description", true, owner, null));
+
+        assertTrue(itemRepository.existsByIdAndOwnerId(item.getId(), owner.getId()));
+        assertFalse(itemRepository.existsByIdAndOwnerId(item.getId(), user.getId()));
+    }
+
     @Test
     void searchItemToRent_whenSearchByName_thenReturnListItemsCorrect() {
         var user = new User(null, "name", "name@ya.ru");
@@ -32,7 +51,7 @@ class ItemRepositoryTest {
         var item = new Item(null, "Spoon", "description", true, user, null);
         itemRepository.save(item);
 
-        var items = itemRepository.searchItemToRent("poon", Pageable.ofSize(1));
+        var items = itemRepository.searchItemToRent("poon", 0L, Pageable.ofSize(1));
         assertEquals(1, items.size());
         assertEquals(item.getName(), items.get(0).getName());
 
@@ -45,8 +64,53 @@ class ItemRepositoryTest {
         var item = new Item(null, "Spoon", "description", true, user, null);
         itemRepository.save(item);
 
-        var items = itemRepository.searchItemToRent("script", Pageable.ofSize(1));
+        var items = itemRepository.searchItemToRent("script", 0L, Pageable.ofSize(1));
         assertEquals(1, items.size());
         assertEquals(item.getDescription(), items.get(0).getDescription());
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchItemToRent_whenUnavailableItemsAndAfter_thenReturnAvailableItemsAfterIdInOrder() {
+        var user = new User(null, "name", "name@ya.ru");
+        userRepository.save(user);
+        var first = itemRepository.save(new Item(null, "Spoon 1", "description", true, user, null));
+        itemRepository.save(new Item(null, "Spoon 2", "description", false, user, null));
+        var third = itemRepository.save(new Item(null, "Spoon 3", "description", true, user, null));
+        var fourth = itemRepository.save(new Item(null, "Spoon 4", "description", true, user, null));
+
+        var firstPage = itemRepository.searchItemToRent("spoon", 0L, Pageable.ofSize(2));
+        assertEquals(List.of(first.getId(), third.getId()), firstPage.stream().map(Item::getId).toList());
+
+        var nextPage = itemRepository.searchItemToRent("spoon", third.getId(), Pageable.ofSize(2));
+        assertEquals(List.of(fourth.getId()), nextPage.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void searchItemToRentByRelevance_whenMatchesInNameAndDescription_thenNameTokenFirst() {
+        var user = new User(null, "name", "name@ya.ru");
+        userRepository.save(user);
+        var inDescription = itemRepository.save(new Item(null, "Saw", "spoon holder", true, user, null));
+        var nameSubstring = itemRepository.save(new Item(null, "Teaspoons", "description", true, user, null));
+        var nameToken = itemRepository.save(new Item(null, "Big spoon", "description", true, user, null));
+        itemRepository.save(new Item(null, "Spoon", "description", false, user, null));
+
+        var items = itemRepository.searchItemToRentByRelevance("spoon", Pageable.ofSize(10));
+        assertEquals(List.of(nameToken.getId(), nameSubstring.getId(), inDescription.getId()),
+                items.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void searchItemToRentByRelevance_whenTokenNextToPunctuation_thenTokenBoostThenApprovedBookings() {
+        var user = userRepository.save(new User(null, "name", "name@ya.ru"));
+        var nameSubstring = itemRepository.save(new Item(null, "Drills", "description", true, user, null));
+        var withComma = itemRepository.save(new Item(null, "Drill, cordless", "description", true, user, null));
+        var withHyphen = itemRepository.save(new Item(null, "Drill-set", "description", true, user, null));
+        var now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), Status.APPROVED, user, withHyphen));
+        bookingRepository.save(new Booking(null, now.plusDays(3), now.plusDays(4), Status.WAITING, user, withComma));
+
+        var items = itemRepository.searchItemToRentByRelevance("drill", Pageable.ofSize(10));
+        assertEquals(List.of(withHyphen.getId(), withComma.getId(), nameSubstring.getId()),
+                items.stream().map(Item::getId).toList());
+    }
+}
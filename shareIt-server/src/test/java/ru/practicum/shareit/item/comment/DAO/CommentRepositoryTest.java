@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.comment.DAO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import ru.practicum.shareit.item.DAO.ItemRepository;
+import ru.practicum.shareit.item.comment.dto.ItemComment;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.DAO.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class CommentRepositoryTest {
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void findLatestByItemIdsEmpty() {
+        var comments = commentRepository.findLatestByItemIds(List.of(1L), 2);
+        assertTrue(comments.isEmpty());
+    }
+
+    @Test
+    void findLatestByItemIds_whenMoreCommentsThanLimit_thenReturnLatestWithTotal() {
+        var owner = userRepository.save(new User(null, "owner", "owner@ya.ru"));
+        var author = userRepository.save(new User(null, "author", "author@ya.ru"));
+        var item = itemRepository.save(new Item(null, "Spoon", "description", true, owner, null));
+        var item2 = itemRepository.save(new Item(null, "Fork", "description", true, owner, null));
+        var now = LocalDateTime.now();
+        commentRepository.save(new Comment(null, "first", item, author, now.minusHours(3)));
+        var second = commentRepository.save(new Comment(null, "second", item, author, now.minusHours(2)));
+        var third = commentRepository.save(new Comment(null, "third", item, author, now.minusHours(1)));
+        var other = commentRepository.save(new Comment(null, "other", item2, author, now));
+
+        var comments = commentRepository.findLatestByItemIds(List.of(item.getId(), item2.getId()), 2);
+
+        assertEquals(List.of(third.getId(), second.getId(), other.getId()), comments.stream().map(ItemComment::getId).toList());
+        assertEquals(author.getName(), comments.get(0).getAuthorName());
+        assertNotNull(comments.get(0).getCreated());
+        assertEquals(3L, comments.get(0).getTotal());
+        assertEquals(1L, comments.get(2).getTotal());
+    }
+}
@@ -135,7 +135,7 @@ class ItemControllerTest {
     void findItemToRent_whenArgumentsIsValid_thenReturnCorrectDto() throws Exception {
         var itemDto = generator.nextObject(ItemDto.class);
 
-        when(itemService.searchItemToRent(anyLong(), any(String.class), any(), any())).thenReturn(List.of(itemDto));
+        when(itemService.searchItemToRent(anyLong(), any(String.class), any(), any(), any(), any())).thenReturn(List.of(itemDto));
 
         mvc.perform(get("/items/search")
                         .param("text", "")
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.item.DAO.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ItemSuggestionsTest {
+    private final ItemSuggestions suggestions = new ItemSuggestions(mock(ItemRepository.class), DataSize.ofKilobytes(1));
+
+    @Test
+    void suggest_whenPrefixMatches_thenReturnNamesInOrderIgnoringCase() {
+        suggestions.onItemSaved(new ItemSavedEvent(1L, "дрель", "", true));
+        suggestions.onItemSaved(new ItemSavedEvent(2L, "Дрезина", "", true));
+        suggestions.onItemSaved(new ItemSavedEvent(3L, "Пила", "", true));
+        suggestions.onItemSaved(new ItemSavedEvent(4L, "Дрель", "", true));
+
+        assertEquals(List.of(2L, 1L, 4L), ids(suggestions.suggest("ДР", 10)));
+        assertEquals(List.of(1L, 4L), ids(suggestions.suggest("дрел", 10)));
+        assertEquals(List.of(2L), ids(suggestions.suggest("др", 1)));
+        assertEquals(List.of(), ids(suggestions.suggest("я", 10)));
+    }
+
+    @Test
+    void onItemSaved_whenRenamedOrUnavailable_thenSuggestionsUpdated() {
+        suggestions.onItemSaved(new ItemSavedEvent(1L, "Дрель", "", true));
+        suggestions.onItemSaved(new ItemSavedEvent(2L, "Пила", "", true));
+
+        suggestions.onItemSaved(new ItemSavedEvent(1L, "Перфоратор", "", true));
+        assertEquals(List.of(), ids(suggestions.suggest("дрель", 10)));
+        assertEquals(List.of(1L, 2L), ids(suggestions.suggest("п", 10)));
+
+        suggestions.onItemSaved(new ItemSavedEvent(2L, "Пила", "", false));
+        assertEquals(List.of(1L), ids(suggestions.suggest("п", 10)));
+        assertEquals(1, suggestions.size());
+    }
+
+    @Test
+    void onItemSaved_whenBudgetExceeded_thenNameNotAdded() {
+        for (long id = 1; id <= 20; id++) {
+            suggestions.onItemSaved(new ItemSavedEvent(id, "Вещь " + id, "", true));
+        }
+
+        assertEquals(13, suggestions.size());
+    }
+
+    private static List<Long> ids(List<ItemSuggestionDto> result) {
+        return result.stream().map(ItemSuggestionDto::getId).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrigramIndexTest {
+    private final TrigramIndex index = new TrigramIndex();
+
+    @Test
+    void search_whenTextInNameOrDescription_thenReturnMatchesIgnoringCase() {
+        index.put(1, "Дрель", "Простая дрель", true);
+        index.put(2, "Отвертка", "Аккумуляторная", true);
+        index.put(3, "Пила", "дрель не нужна", true);
+
+        assertArrayEquals(new int[]{1, 3}, index.search("дРеЛь", 0, 0, 10));
+        assertArrayEquals(new int[]{2}, index.search("аккум", 0, 0, 10));
+        assertArrayEquals(new int[0], index.search("молоток", 0, 0, 10));
+    }
+
+    @Test
+    void search_whenItemUnavailable_thenExcluded() {
+        index.put(1, "Дрель", "", true);
+        index.put(2, "Дрель", "", false);
+
+        assertArrayEquals(new int[]{1}, index.search("дрель", 0, 0, 10));
+    }
+
+    @Test
+    void search_whenItemUpdated_thenOldTextNoLongerMatches() {
+        index.put(1, "Дрель", "ударная", true);
+        index.put(1, "Перфоратор", "ударный", true);
+
+        assertArrayEquals(new int[0], index.search("дрель", 0, 0, 10));
+        assertArrayEquals(new int[]{1}, index.search("перфо", 0, 0, 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void search_whenShortQuery_thenScanAvailableItems() {
+        index.put(1, "ab", "", true);
+        index.put(2, "cab", "", true);
+        index.put(3, "xy", "", true);
+
+        assertArrayEquals(new int[]{1, 2}, index.search("ab", 0, 0, 10));
+    }
+
+    @Test
+    void search_whenOffsetAndLimit_thenReturnPage() {
+        for (int doc = 1; doc <= 25; doc++) {
+            index.put(doc, "Вещь " + doc, "", doc % 5 != 0);
+        }
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 6}, index.search("вещь", 0, 0, 5));
+        assertArrayEquals(new int[]{7, 8, 9, 11, 12}, index.search("вещь", 0, 5, 5));
+        assertArrayEquals(new int[]{23, 24}, index.search("вещь", 0, 18, 5));
+    }
+
+    @Test
+    void search_whenQueryTrigramsPresentButNotAdjacent_thenNoMatch() {
+        index.put(1, "abcx bcd", "", true);
+
+        assertArrayEquals(new int[0], index.search("abcd", 0, 0, 10));
+    }
+
+    @Test
+    void search_whenAfter_thenReturnOnlyGreaterIds() {
+        for (int doc = 1; doc <= 10; doc++) {
+            index.put(doc, "Вещь " + doc, "", true);
+        }
+        index.put(11, "ab", "", true);
+
+        assertArrayEquals(new int[]{8, 9, 10}, index.search("вещь", 7, 0, 5));
+        assertArrayEquals(new int[]{11}, index.search("ab", 10, 0, 5));
+    }
+
+    @Test
+    void searchByRelevance_whenDifferentMatchKinds_thenOrderByScoreThenBookingsThenId() {
+        index.put(1, "Подставка", "дрель в комплекте", true);
+        index.put(2, "Дрельки", "", true);
+        index.put(3, "Дрель ударная", "", true);
+        index.put(4, "Дрель", "", true);
+        index.put(5, "Дрель", "", true);
+        index.put(6, "Дрель", "", false);
+        index.addApprovedBooking(5);
+
+        assertArrayEquals(new int[]{5, 3, 4, 2, 1}, index.searchByRelevance("дрель", 0, 10));
+        assertArrayEquals(new int[]{4, 2}, index.searchByRelevance("дрель", 2, 2));
+    }
+
+    @Test
+    void searchByRelevance_whenTokenNextToPunctuation_thenTokenRankedAboveSubstring() {
+        index.put(1, "Дрельки", "", true);
+        index.put(2, "Дрель-шуруповёрт", "", true);
+        index.put(3, "Дрель, ударная", "", true);
+
+        assertArrayEquals(new int[]{2, 3, 1}, index.searchByRelevance("дрель", 0, 10));
+    }
+}
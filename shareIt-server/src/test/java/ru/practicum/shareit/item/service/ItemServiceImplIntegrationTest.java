@@ -67,6 +67,9 @@ public class ItemServiceImplIntegrationTest {
         assertEquals(createdBookingLast.getId(), result.get(0).getLastBooking().getId());
         assertEquals(createdBookingNext.getId(), result.get(0).getNextBooking().getId());
         assertEquals(createdItem2.getId(), result.get(1).getId());
+        assertEquals(createdComment.getId(), result.get(0).getComments().get(0).getId());
+        assertEquals(booker.getName(), result.get(0).getComments().get(0).getAuthorName());
+        assertEquals(1L, result.get(0).getCommentCount());
     }
 
     private UserDto createUserDto(String mail) {
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.DAO.BookingRepository;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.DAO.ItemRepository;
+import ru.practicum.shareit.item.comment.DAO.CommentRepository;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.interfaces.ItemService;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+import ru.practicum.shareit.user.DAO.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemServiceImplQueryCountTest {
+
+    private final ItemService itemService;
+
+    private final UserRepository userRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemSummaryService itemSummaryService;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void getItemById_whenOwnerWithBookingsAndComments_thenThreeStatements() {
+        var owner = userRepository.save(new User(null, "owner", "owner@ya.ru"));
+        var firstBooker = userRepository.save(new User(null, "first", "first@ya.ru"));
+        var secondBooker = userRepository.save(new User(null, "second", "second@ya.ru"));
+        var item = itemRepository.save(new Item(null, "Spoon", "description", true, owner, null));
+        var last = bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), Status.APPROVED, firstBooker, item));
+        var next = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), Status.APPROVED, secondBooker, item));
+        commentRepository.save(new Comment(null, "first", item, firstBooker, LocalDateTime.now().minusHours(2)));
+        commentRepository.save(new Comment(null, "second", item, secondBooker, LocalDateTime.now().minusHours(1)));
+        itemSummaryService.refresh(item.getId());
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var result = itemService.getItemById(owner.getId(), item.getId());
+
+        assertEquals(last.getId(), result.getLastBooking().getId());
+        assertEquals(firstBooker.getId(), result.getLastBooking().getBookerId());
+        assertEquals(next.getId(), result.getNextBooking().getId());
+        assertEquals(secondBooker.getId(), result.getNextBooking().getBookerId());
+        assertEquals("second", result.getComments().get(0).getAuthorName());
+        assertEquals("first", result.getComments().get(1).getAuthorName());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+}
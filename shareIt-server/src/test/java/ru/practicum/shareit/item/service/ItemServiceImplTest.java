@@ -5,10 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingMapperImpl;
-import ru.practicum.shareit.booking.dto.ShortBookingItemDto;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.interfaces.BookingService;
@@ -19,9 +19,14 @@ import ru.practicum.shareit.item.comment.DAO.CommentRepository;
 import ru.practicum.shareit.item.comment.dto.CommentMapper;
 import ru.practicum.shareit.item.comment.dto.CommentMapperImpl;
 import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDetails;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemMapperImpl;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.DatabaseItemSearch;
+import ru.practicum.shareit.item.search.ItemSuggestions;
+import ru.practicum.shareit.item.summary.ItemSummary;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.request.DAO.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -33,7 +38,6 @@ import ru.practicum.shareit.utils.PaginationServiceClass;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -44,6 +48,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -72,6 +77,15 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ItemSuggestions itemSuggestions;
+
+    @Mock
+    private ItemSummaryService itemSummaryService;
+
     private final ItemMapper itemMapper = new ItemMapperImpl();
     private final UserMapper userMapper = new UserMapperImpl();
     private final CommentMapper commentMapper = new CommentMapperImpl();
@@ -79,7 +93,8 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        itemService = new ItemServiceImpl(itemRepository, commentRepository, itemMapper, userMapper, commentMapper, bookingMapper, userService, bookingService, itemRequestRepository);
+        itemService = new ItemServiceImpl(itemRepository, commentRepository, itemMapper, userMapper, commentMapper, userService, bookingService, itemRequestRepository,
+                new DatabaseItemSearch(itemRepository), itemSuggestions, itemSummaryService, eventPublisher);
     }
 
     @Test
@@ -124,8 +139,8 @@ class ItemServiceImplTest {
         var item = createItem(user);
         var itemDto = itemMapper.toItemDto(item);
 
-        when(userService.getUserById(eq(user.getId()))).thenReturn(new UserDto());
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.empty());
+        when(itemRepository.existsByIdAndOwnerId(eq(item.getId()), eq(user.getId()))).thenReturn(false);
+        when(itemRepository.existsById(eq(item.getId()))).thenReturn(false);
 
         Throwable e = assertThrows(NotFoundException.class, () ->
                 itemService.updateItem(item.getId(), itemDto, user.getId()));
@@ -140,12 +155,13 @@ class ItemServiceImplTest {
         var item = createItem(owner);
         var itemDto = itemMapper.toItemDto(item);
 
-        when(userService.getUserById(eq(user.getId()))).thenReturn(new UserDto());
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
+        when(itemRepository.existsByIdAndOwnerId(eq(item.getId()), eq(user.getId()))).thenReturn(false);
+        when(itemRepository.existsById(eq(item.getId()))).thenReturn(true);
 
         Throwable e = assertThrows(NotFoundException.class, () ->
                 itemService.updateItem(item.getId(), itemDto, user.getId()));
         assertEquals("Данный пользователь " + user.getId() + " не является владельцем вещи с id: " + item.getId(), e.getMessage());
+        verify(itemRepository, never()).findById(any());
         verify(itemRepository, never()).save(any(Item.class));
     }
 
@@ -156,7 +172,7 @@ class ItemServiceImplTest {
         var itemDto = itemMapper.toItemDto(item);
         itemDto.setAvailable(false);
 
-        when(userService.getUserById(eq(owner.getId()))).thenReturn(new UserDto());
+        when(itemRepository.existsByIdAndOwnerId(eq(item.getId()), eq(owner.getId()))).thenReturn(true);
         when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
         when(itemRepository.save(any(Item.class))).thenReturn(item);
 
@@ -170,13 +186,12 @@ class ItemServiceImplTest {
         var user = createUser(1L);
         var item = createItem(user);
 
-        when(userService.getUserById(eq(user.getId()))).thenReturn(new UserDto());
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.empty());
+        when(itemRepository.findItemDetails(eq(item.getId()))).thenReturn(Optional.empty());
 
         Throwable e = assertThrows(NotFoundException.class, () ->
                 itemService.getItemById(user.getId(), item.getId()));
         assertEquals("Вещь с таким id: " + item.getId() + ", отсутствует.", e.getMessage());
-        verify(commentRepository, never()).findAllByItemId(eq(item.getId()));
+        verify(itemSummaryService, never()).findByItemIds(any(List.class));
     }
 
     @Test
@@ -184,17 +199,15 @@ class ItemServiceImplTest {
         var owner = createUser(1L);
         var item = createItem(owner);
 
-        when(userService.getUserById(eq(owner.getId()))).thenReturn(new UserDto());
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
-        when(bookingService.findLastBookingByItemId(eq(item.getId()))).thenReturn(Optional.of(new ShortBookingItemDto()));
-        when(bookingService.findFutureBookingByItemId(eq(item.getId()))).thenReturn(Optional.of(new ShortBookingItemDto()));
+        when(itemRepository.findItemDetails(eq(item.getId()))).thenReturn(Optional.of(createItemDetails(item)));
+        when(itemSummaryService.findByItemIds(List.of(item.getId())))
+                .thenReturn(Map.of(item.getId(), createSummary(item.getId(), 1L, 4L, 2L)));
         var result = itemService.getItemById(owner.getId(), item.getId());
 
-        assertNotNull(result.getLastBooking());
-        assertNotNull(result.getNextBooking());
-        verify(bookingService).findLastBookingByItemId(eq(item.getId()));
-        verify(bookingService).findFutureBookingByItemId(eq(item.getId()));
-        verify(commentRepository).findAllByItemId(eq(item.getId()));
+        assertEquals(1L, result.getLastBooking().getId());
+        assertEquals(2L, result.getNextBooking().getId());
+        assertEquals(3L, result.getNextBooking().getBookerId());
+        assertTrue(result.getComments().isEmpty());
     }
 
     @Test
@@ -203,15 +216,13 @@ class ItemServiceImplTest {
         var user = createUser(3L);
         var item = createItem(owner);
 
-        when(userService.getUserById(eq(user.getId()))).thenReturn(new UserDto());
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
+        when(itemRepository.findItemDetails(eq(item.getId()))).thenReturn(Optional.of(createItemDetails(item)));
+        when(itemSummaryService.findByItemIds(List.of(item.getId())))
+                .thenReturn(Map.of(item.getId(), createSummary(item.getId(), 1L, 4L, 2L)));
         var result = itemService.getItemById(user.getId(), item.getId());
 
         assertNull(result.getLastBooking());
         assertNull(result.getNextBooking());
-        verify(bookingService, never()).findLastBookingByItemId(eq(item.getId()));
-        verify(bookingService, never()).findFutureBookingByItemId(eq(item.getId()));
-        verify(commentRepository).findAllByItemId(eq(item.getId()));
     }
 
     @Test
@@ -219,30 +230,29 @@ class ItemServiceImplTest {
         var owner = createUser(1L);
         var user = createUser(3L);
         var item = createItem(owner);
-        var comment = createComment(user, item);
+        var summary = createSummary(item.getId(), null, null, null);
+        summary.setCommentCount(1);
+        var comment = commentMapper.toCommentDto(createComment(user, item));
 
-        when(userService.getUserById(eq(user.getId()))).thenReturn(new UserDto());
-        when(itemRepository.findById(eq(item.getId()))).thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemId(eq(item.getId()))).thenReturn(List.of(comment));
+        when(itemRepository.findItemDetails(eq(item.getId()))).thenReturn(Optional.of(createItemDetails(item)));
+        when(itemSummaryService.findByItemIds(List.of(item.getId()))).thenReturn(Map.of(item.getId(), summary));
+        when(itemSummaryService.readComments(summary)).thenReturn(List.of(comment));
         var result = itemService.getItemById(user.getId(), item.getId());
 
         assertEquals(comment.getId(), result.getComments().get(0).getId());
-        verify(bookingService, never()).findLastBookingByItemId(eq(item.getId()));
-        verify(bookingService, never()).findFutureBookingByItemId(eq(item.getId()));
-        verify(commentRepository).findAllByItemId(eq(item.getId()));
+        assertEquals(user.getName(), result.getComments().get(0).getAuthorName());
+        assertEquals(1L, result.getCommentCount());
     }
 
     @Test
     void getUserItems_whenUserHasNotItems_thenReturnEmptyList() {
         var owner = createUser(1L);
 
-        when(userService.getUserById(eq(owner.getId()))).thenReturn(new UserDto());
         when(itemRepository.findAllByOwnerIdOrderById(eq(owner.getId()), any(Pageable.class))).thenReturn(new ArrayList<>());
         var result = itemService.getUserItems(owner.getId(), 0, 10);
 
         assertEquals(0, result.size());
-        verify(bookingService, never()).findAllBookingsByItemIds(any(List.class));
-        verify(commentRepository, never()).findAllCommentsByItemIdInOrderByCreatedDesc(any(List.class));
+        verify(itemSummaryService, never()).findByItemIds(any(List.class));
     }
 
     @Test
@@ -250,35 +260,32 @@ class ItemServiceImplTest {
         var owner = createUser(1L);
         var item = createItem(owner);
 
-        when(userService.getUserById(eq(owner.getId()))).thenReturn(new UserDto());
         when(itemRepository.findAllByOwnerIdOrderById(eq(owner.getId()), any(Pageable.class))).thenReturn(List.of(item));
-        when(bookingService.findAllBookingsByItemIds(List.of(item.getId()))).thenReturn(new HashMap<>());
-        when(commentRepository.findAllCommentsByItemIdInOrderByCreatedDesc(List.of(item.getId()))).thenReturn(new ArrayList<>());
+        when(itemSummaryService.findByItemIds(List.of(item.getId())))
+                .thenReturn(Map.of(item.getId(), createSummary(item.getId(), null, null, null)));
         var result = itemService.getUserItems(owner.getId(), 0, 10);
 
         assertEquals(1, result.size());
         assertEquals(item.getId(), result.get(0).getId());
-        verify(bookingService).findAllBookingsByItemIds(any(List.class));
-        verify(commentRepository).findAllCommentsByItemIdInOrderByCreatedDesc(any(List.class));
+        assertNull(result.get(0).getLastBooking());
+        assertEquals(0L, result.get(0).getCommentCount());
     }
 
     @Test
     void getUserItems_whenUserHasItemsWithBookings_thenReturnListItemDtoWithBookings() {
         var owner = createUser(1L);
         var item = createItem(owner);
-        var booker = createUser(2L);
-        var bookingLast = createBooking(LocalDateTime.now().minusHours(1), LocalDateTime.now(), booker, item);
-        var bookingNext = createBooking(LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2), booker, item);
-        bookingNext.setId(2L);
 
-        when(userService.getUserById(eq(owner.getId()))).thenReturn(new UserDto());
         when(itemRepository.findAllByOwnerIdOrderById(eq(owner.getId()), any(Pageable.class))).thenReturn(List.of(item));
-        when(bookingService.findAllBookingsByItemIds(List.of(item.getId()))).thenReturn(Map.of(item, List.of(bookingLast, bookingNext)));
-        when(commentRepository.findAllCommentsByItemIdInOrderByCreatedDesc(List.of(item.getId()))).thenReturn(new ArrayList<>());
+        when(itemSummaryService.findByItemIds(List.of(item.getId())))
+                .thenReturn(Map.of(item.getId(), createSummary(item.getId(), 1L, 4L, 2L)));
 
         var result = itemService.getUserItems(owner.getId(), 0, 10);
         assertEquals(1, result.size());
         assertEquals(item.getId(), result.get(0).getId());
+        assertEquals(4L, result.get(0).getLastBooking().getId());
+        assertEquals(2L, result.get(0).getNextBooking().getId());
+        assertEquals(3L, result.get(0).getNextBooking().getBookerId());
     }
 
     @Test
@@ -286,37 +293,47 @@ class ItemServiceImplTest {
         var owner = createUser(1L);
         var user = createUser(2L);
         var item = createItem(owner);
-        var item2 = createItem(owner);
-        var comment = createComment(user, item);
-        var comment2 = createComment(user, item2);
-        var commentList = List.of(comment, comment2);
+        var item2 = new Item(2L, "Fork", "description", true, owner, null);
+        var summary = createSummary(item.getId(), null, null, null);
+        summary.setCommentCount(2);
+        var comment = commentMapper.toCommentDto(createComment(user, item));
 
-        when(userService.getUserById(eq(owner.getId()))).thenReturn(new UserDto());
         when(itemRepository.findAllByOwnerIdOrderById(eq(owner.getId()), any(PaginationServiceClass.class))).thenReturn(List.of(item, item2));
-        when(bookingService.findAllBookingsByItemIds(any(List.class))).thenReturn(new HashMap<>());
-        when(commentRepository.findAllCommentsByItemIdInOrderByCreatedDesc(any(List.class))).thenReturn(commentList);
+        when(itemSummaryService.findByItemIds(List.of(item.getId(), item2.getId())))
+                .thenReturn(Map.of(item.getId(), summary, item2.getId(), createSummary(item2.getId(), null, null, null)));
+        when(itemSummaryService.readComments(summary)).thenReturn(List.of(comment));
         var result = itemService.getUserItems(owner.getId(), 0, 10);
 
-        assertEquals(comment.getItem().getId(), result.get(0).getId());
+        assertEquals(item.getId(), result.get(0).getId());
+        assertEquals(user.getName(), result.get(0).getComments().get(0).getAuthorName());
+        assertEquals(2L, result.get(0).getCommentCount());
+        assertEquals(0L, result.get(1).getCommentCount());
     }
 
     @Test
     void searchItemToRent_whenSearchTextIsNull_thenThrowBadRequestException() {
-        when(userService.getUserById(anyLong())).thenReturn(new UserDto());
         Throwable e = assertThrows(BadRequestException.class, () ->
-                itemService.searchItemToRent(1L, null, 1, 10));
+                itemService.searchItemToRent(1L, null, 1, 10, null, "ID"));
 
         assertEquals("Параметр для поиска вещи пустой.", e.getMessage());
-        verify(itemRepository, never()).searchItemToRent(anyString(), any(Pageable.class));
+        verify(itemRepository, never()).searchItemToRent(anyString(), anyLong(), any(Pageable.class));
     }
 
     @Test
     void searchItemToRent_whenSearchTextIsBlank_thenReturnEmptyList() {
-        when(userService.getUserById(anyLong())).thenReturn(new UserDto());
-        var items = itemService.searchItemToRent(1L, " ", 1, 10);
+        var items = itemService.searchItemToRent(1L, " ", 1, 10, null, "ID");
 
         assertTrue(items.isEmpty());
-        verify(itemRepository, never()).searchItemToRent(anyString(), any(Pageable.class));
+        verify(itemRepository, never()).searchItemToRent(anyString(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void suggestItems_whenSizeNotPositive_thenThrowBadRequestException() {
+        Throwable e = assertThrows(BadRequestException.class, () -> itemService.suggestItems("дре", 0));
+
+        assertEquals("Параметр size должен быть положительным.", e.getMessage());
+        assertThrows(BadRequestException.class, () -> itemService.suggestItems("дре", -1));
+        verify(itemSuggestions, never()).suggest(anyString(), anyInt());
     }
 
     @Test
@@ -325,12 +342,22 @@ class ItemServiceImplTest {
         var item = createItem(user);
         var itemDto = itemMapper.toItemDto(item);
 
-        when(userService.getUserById(anyLong())).thenReturn(new UserDto());
-        when(itemRepository.searchItemToRent(anyString(), any(Pageable.class))).thenReturn(List.of(item));
-        var result = itemService.searchItemToRent(user.getId(), "poon", 0, 10);
+        when(itemRepository.searchItemToRent(anyString(), anyLong(), any(Pageable.class))).thenReturn(List.of(item));
+        var result = itemService.searchItemToRent(user.getId(), "poon", 0, 10, null, "ID");
 
         assertEquals(itemDto.getId(), result.get(0).getId());
-        verify(itemRepository).searchItemToRent(anyString(), any(Pageable.class));
+        verify(itemRepository).searchItemToRent(anyString(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void searchItemToRent_whenRelevanceTextHasNoWords_thenSearchInIdOrder() {
+        var item = createItem(createUser(1L));
+        when(itemRepository.searchItemToRent(eq("-,"), eq(0L), any(Pageable.class))).thenReturn(List.of(item));
+
+        var result = itemService.searchItemToRent(1L, "-,", 0, 10, null, "RELEVANCE");
+
+        assertEquals(item.getId(), result.get(0).getId());
+        verify(itemRepository, never()).searchItemToRentByRelevance(anyString(), any(Pageable.class));
     }
 
     @Test
@@ -455,4 +482,49 @@ class ItemServiceImplTest {
     private Booking createBooking(LocalDateTime start, LocalDateTime end, User booker, Item item) {
         return new Booking(1L, start, end, Status.APPROVED, booker, item);
     }
-}
\ No newline at end of file
+
+    private ItemDetails createItemDetails(Item item) {
+        return new ItemDetails() {
+            @Override
+            public Long getId() {
+                return item.getId();
+            }
+
+            @Override
+            public String getName() {
+                return item.getName();
+            }
+
+            @Override
+            public String getDescription() {
+                return item.getDescription();
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return item.getAvailable();
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return item.getOwner().getId();
+            }
+
+            @Override
+            public Long getRequestId() {
+                return null;
+            }
+        };
+    }
+
+    private ItemSummary createSummary(Long itemId, Long lastBookingId, Long listLastBookingId, Long nextBookingId) {
+        var summary = new ItemSummary(itemId);
+        summary.setLastBookingId(lastBookingId);
+        summary.setLastBookerId(lastBookingId == null ? null : 3L);
+        summary.setListLastBookingId(listLastBookingId);
+        summary.setListLastBookerId(listLastBookingId == null ? null : 3L);
+        summary.setNextBookingId(nextBookingId);
+        summary.setNextBookerId(nextBookingId == null ? null : 3L);
+        return summary;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.DAO.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.interfaces.BookingService;
+import ru.practicum.shareit.item.DAO.ItemRepository;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.interfaces.ItemService;
+import ru.practicum.shareit.user.DAO.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.interfaces.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemSummaryServiceIntegrationTest {
+
+    private final ItemSummaryService itemSummaryService;
+
+    private final ItemSummaryRepository itemSummaryRepository;
+
+    private final ItemService itemService;
+
+    private final UserService userService;
+
+    private final BookingService bookingService;
+
+    private final UserRepository userRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void refresh_whenBookingCreatedAndApproved_thenSummaryUpdated() {
+        var owner = userService.addUser(new UserDto(null, "owner", "owner@ya.ru"));
+        var booker = userService.addUser(new UserDto(null, "booker", "booker@ya.ru"));
+        var itemDto = itemService.createItem(new ItemDto(null, "Spoon", "description", true, null, null, null, null, null), owner.getId());
+        var item = itemRepository.findById(itemDto.getId()).orElseThrow();
+        var start = LocalDateTime.now().plusDays(1);
+
+        var booking = bookingService.createBookingByUser(new BookingRequestDto(null, start, start.plusDays(1)), booker.getId(), item);
+        var created = itemSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(booking.getId(), created.getNextBookingId());
+        assertEquals(booker.getId(), created.getNextBookerId());
+        assertEquals(0, created.getApprovedBookings());
+        assertEquals(start.withNano(0), created.getValidUntil().withNano(0));
+
+        bookingService.managingBookingStatus(booking.getId(), owner.getId(), true);
+        assertEquals(1, itemSummaryRepository.findById(item.getId()).orElseThrow().getApprovedBookings());
+    }
+
+    @Test
+    void findByItemIds_whenSummaryExpired_thenComputeCurrentState() {
+        var owner = userRepository.save(new User(null, "owner", "owner@ya.ru"));
+        var booker = userRepository.save(new User(null, "booker", "booker@ya.ru"));
+        var item = itemRepository.save(new Item(null, "Spoon", "description", true, owner, null));
+        var booking = bookingRepository.save(new Booking(null, LocalDateTime.now().minusHours(2),
+                LocalDateTime.now().minusHours(1), Status.APPROVED, booker, item));
+        var expired = new ItemSummary(item.getId());
+        expired.setNextBookingId(booking.getId());
+        expired.setValidUntil(LocalDateTime.now().minusHours(2));
+        itemSummaryRepository.save(expired);
+
+        var summary = itemSummaryService.findByItemIds(List.of(item.getId())).get(item.getId());
+        assertNull(summary.getNextBookingId());
+        assertEquals(booking.getId(), summary.getLastBookingId());
+        assertEquals(booking.getId(), summary.getListLastBookingId());
+        assertNull(itemSummaryRepository.findById(item.getId()).orElseThrow().getLastBookingId());
+
+        assertEquals(1, itemSummaryService.refreshStale(10));
+        var refreshed = itemSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(booking.getId(), refreshed.getLastBookingId());
+        assertNull(refreshed.getValidUntil());
+    }
+
+    @Test
+    void rebuild_whenSummariesMissing_thenCreateForAllItems() {
+        var owner = userRepository.save(new User(null, "owner", "owner@ya.ru"));
+        var first = itemRepository.save(new Item(null, "Spoon", "description", true, owner, null));
+        var second = itemRepository.save(new Item(null, "Fork", "description", true, owner, null));
+
+        assertEquals(second.getId(), itemSummaryService.rebuild(0, 10));
+        assertNull(itemSummaryService.rebuild(second.getId(), 10));
+        assertTrue(itemSummaryRepository.existsById(first.getId()));
+        assertTrue(itemSummaryRepository.existsById(second.getId()));
+    }
+
+    @Test
+    void refreshCommentAuthor_whenAuthorRenamed_thenLatestCommentsShowNewName() {
+        var owner = userRepository.save(new User(null, "owner", "owner@ya.ru"));
+        var booker = userRepository.save(new User(null, "booker", "booker@ya.ru"));
+        var item = itemRepository.save(new Item(null, "Spoon", "description", true, owner, null));
+        itemSummaryService.create(item.getId());
+        bookingRepository.save(new Booking(null, LocalDateTime.now().minusHours(2),
+                LocalDateTime.now().minusHours(1), Status.APPROVED, booker, item));
+        var comment = new CommentDto();
+        comment.setText("Отличная ложка");
+        itemService.createComment(comment, item.getId(), booker.getId());
+
+        userService.updateUser(booker.getId(), new UserDto(null, "renamed", null));
+
+        var summary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals("renamed", itemSummaryService.readComments(summary).get(0).getAuthorName());
+    }
+}
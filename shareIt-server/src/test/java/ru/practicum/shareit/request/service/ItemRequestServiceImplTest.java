@@ -87,7 +87,7 @@ class ItemRequestServiceImplTest {
     void getAllRequestsByUser_whenUserNotValid_thenThrowNotFoundException() {
         var user = createUser(1L);
 
-        doThrow(NotFoundException.class).when(userService).getUserById(eq(user.getId()));
+        doThrow(NotFoundException.class).when(userService).checkUserExists(eq(user.getId()));
 
         assertThrows(NotFoundException.class, () -> itemRequestService.getAllRequestsByUser(user.getId()));
         verify(itemRequestRepository, never()).findAllRequestsByRequesterIdOrderByCreatedDesc(eq(user.getId()));
@@ -99,7 +99,6 @@ class ItemRequestServiceImplTest {
         var request = createItemRequest(user);
         var requests = itemRequestMapper.toItemRequestDtoList(Collections.singletonList(request));
 
-        when(userService.getUserById(eq(user.getId()))).thenReturn(new UserDto());
         when(itemRequestRepository.findAllRequestsByRequesterIdOrderByCreatedDesc(eq(user.getId()))).thenReturn(Collections.singletonList(request));
         var result = itemRequestService.getAllRequestsByUser(user.getId());
 
@@ -111,7 +110,7 @@ class ItemRequestServiceImplTest {
     void getAllRequests_whenUserNotValid_thenThrowNotFoundException() {
         var user = createUser(1L);
 
-        doThrow(NotFoundException.class).when(userService).getUserById(eq(user.getId()));
+        doThrow(NotFoundException.class).when(userService).checkUserExists(eq(user.getId()));
 
         assertThrows(NotFoundException.class, () -> itemRequestService.getAllRequests(user.getId(), 0, 10));
         verify(itemRequestRepository, never()).findByRequesterIdNotOrderByCreatedDesc(eq(user.getId()), any(Pageable.class));
@@ -122,7 +121,6 @@ class ItemRequestServiceImplTest {
         var user = createUser(1L);
         var request = createItemRequest(user);
 
-        when(userService.getUserById(eq(user.getId()))).thenReturn(new UserDto());
         when(itemRequestRepository.findByRequesterIdNotOrderByCreatedDesc(eq(user.getId()), any(Pageable.class))).thenReturn(List.of(request));
         var result = itemRequestService.getAllRequests(user.getId(), 0, 10);
 
@@ -135,7 +133,6 @@ class ItemRequestServiceImplTest {
         var user = createUser(1L);
         var itemRequest = createItemRequest(user);
 
-        when(userService.getUserById(eq(user.getId()))).thenReturn(new UserDto());
         when(itemRequestRepository.findById(eq(itemRequest.getId()))).thenReturn(Optional.empty());
 
         Throwable e = assertThrows(NotFoundException.class, () ->
@@ -148,7 +145,6 @@ class ItemRequestServiceImplTest {
         var user = createUser(1L);
         var itemRequest = createItemRequest(user);
 
-        when(userService.getUserById(eq(user.getId()))).thenReturn(new UserDto());
         when(itemRequestRepository.findById(eq(itemRequest.getId()))).thenReturn(Optional.of(itemRequest));
         var result = itemRequestService.getRequestById(user.getId(), itemRequest.getId());
 
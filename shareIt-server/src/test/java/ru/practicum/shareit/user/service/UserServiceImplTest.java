@@ -5,12 +5,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.DAO.UserRepository;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.dto.UserMapperImpl;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,11 +38,20 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemSummaryService itemSummaryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private final UserMapper userMapper = new UserMapperImpl();
 
+    private UserExistenceCache userExistenceCache;
+
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository, userMapper);
+        userExistenceCache = new UserExistenceCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        userService = new UserServiceImpl(userRepository, userMapper, userExistenceCache, itemSummaryService, eventPublisher);
     }
 
     @Test
@@ -75,13 +91,28 @@ class UserServiceImplTest {
 
         assertEquals(userDto.getName(), updatedUser.getName());
         verify(userRepository).save(any(User.class));
+        verify(itemSummaryService).refreshCommentAuthor(user.getId());
+    }
+
+    @Test
+    void updateUser_whenNameNotChanged_thenItemSummariesNotRefreshed() {
+        var user = createUser(1L);
+        var userDto = userMapper.toUserDto(user);
+        userDto.setName(null);
+        userDto.setEmail("update@ya.ru");
+
+        when(userRepository.findById(eq(user.getId()))).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        userService.updateUser(user.getId(), userDto);
+
+        verify(itemSummaryService, never()).refreshCommentAuthor(any());
     }
 
     @Test
     void deleteUserById_whenUserNotFound_thenThrowNotFoundException() {
         var user = createUser(1L);
 
-        when(userRepository.findById(eq(user.getId()))).thenReturn(Optional.empty());
+        when(userRepository.existsById(eq(user.getId()))).thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> userService.deleteUserById(user.getId()));
         verify(userRepository, never()).deleteById(eq(user.getId()));
@@ -91,10 +122,71 @@ class UserServiceImplTest {
     void deleteUserById_whenUserFound_thenDeleteUserCorrect() {
         var user = createUser(1L);
 
-        when(userRepository.findById(eq(user.getId()))).thenReturn(Optional.of(user));
+        when(userRepository.existsById(eq(user.getId()))).thenReturn(true, false);
         userService.deleteUserById(user.getId());
 
         verify(userRepository, times(1)).deleteById(eq(user.getId()));
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(user.getId()));
+        userExistenceCache.onUserDeleted(new UserDeletedEvent(user.getId()));
+        assertThrows(NotFoundException.class, () -> userService.checkUserExists(user.getId()));
+        verify(userRepository, times(2)).existsById(eq(user.getId()));
+    }
+
+    @Test
+    void deleteUserById_whenCheckedBeforeCommit_thenStillCachedUntilEvent() {
+        when(userRepository.existsById(eq(1L))).thenReturn(true);
+        userService.deleteUserById(1L);
+
+        userService.checkUserExists(1L);
+
+        verify(userRepository, times(1)).existsById(eq(1L));
+    }
+
+    @Test
+    void checkUserExists_whenPositiveEntryExpired_thenQueryRepositoryAgain() {
+        var clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        userExistenceCache = new UserExistenceCache(100, Duration.ofMinutes(1), Duration.ZERO, clock);
+        userService = new UserServiceImpl(userRepository, userMapper, userExistenceCache, itemSummaryService, eventPublisher);
+        when(userRepository.existsById(eq(1L))).thenReturn(true, false);
+
+        userService.checkUserExists(1L);
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThrows(NotFoundException.class, () -> userService.checkUserExists(1L));
+        verify(userRepository, times(2)).existsById(eq(1L));
+    }
+
+    @Test
+    void checkUserExists_whenCheckedTwice_thenQueryRepositoryOnce() {
+        when(userRepository.existsById(eq(1L))).thenReturn(true);
+
+        userService.checkUserExists(1L);
+        userService.checkUserExists(1L);
+
+        verify(userRepository, times(1)).existsById(eq(1L));
+    }
+
+    @Test
+    void checkUserExists_whenUserNotFound_thenCacheMissingUser() {
+        when(userRepository.existsById(eq(1L))).thenReturn(false);
+
+        Throwable e = assertThrows(NotFoundException.class, () -> userService.checkUserExists(1L));
+        assertEquals("Пользователь с таким id: 1, отсутствует.", e.getMessage());
+        assertThrows(NotFoundException.class, () -> userService.checkUserExists(1L));
+        verify(userRepository, times(1)).existsById(eq(1L));
+    }
+
+    @Test
+    void addUser_whenUserWasMissing_thenCheckUserExistsPasses() {
+        var user = createUser(1L);
+        when(userRepository.existsById(eq(user.getId()))).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        assertThrows(NotFoundException.class, () -> userService.checkUserExists(user.getId()));
+        userService.addUser(userMapper.toUserDto(user));
+        userService.checkUserExists(user.getId());
+
+        verify(userRepository, times(1)).existsById(eq(user.getId()));
     }
 
     @Test
@@ -136,4 +228,31 @@ class UserServiceImplTest {
     private User createUser(Long id) {
         return new User(id, "user", "user@ya.ru");
     }
-}
\ No newline at end of file
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}